@@ -0,0 +1,33 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the dungeon benchmarks with the GC profiler, so every result also reports the bytes
+ * allocated per operation.
+ */
+public class BenchmarkRunner {
+  /**
+   * The seed of the randomizer used to build every benchmarked dungeon.
+   */
+  public static final long SEED = 20211206L;
+
+  /**
+   * Runs the benchmarks whose name matches the first argument, or all of them.
+   *
+   * @param args optional regular expression selecting the benchmarks to run.
+   * @throws RunnerException if the benchmarks fail to run.
+   */
+  public static void main(String[] args) throws RunnerException {
+    String include = args.length > 0 ? args[0] : "benchmark\\..*Benchmark";
+    Options options = new OptionsBuilder()
+            .include(include)
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,70 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import dungeon.Dungeon;
+import dungeon.DungeonModel;
+import dungeon.MazeStorage;
+import randomizer.SeededRandomizer;
+
+/**
+ * Measures the time and allocation of building a new dungeon for different sizes, wrapping,
+ * interconnectivity and storage. Every invocation uses a new randomizer with the same seed, so
+ * every invocation builds exactly the same dungeon.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DungeonConstructionBenchmark {
+
+  @Param({"10", "100", "500"})
+  private int size;
+
+  @Param({"false", "true"})
+  private boolean wrapped;
+
+  //Percentage of the edges left out of the spanning tree that are added back.
+  @Param({"0", "10"})
+  private int interconnectivityPercentage;
+
+  @Param({"NODES", "COMPACT"})
+  private MazeStorage storage;
+
+  private int interconnectivity;
+
+  /**
+   * Converts the interconnectivity percentage into a number of edges for the current size.
+   */
+  @Setup
+  public void setUp() {
+    int totalEdges = wrapped ? 2 * size * size : 2 * size * (size - 1);
+    int skippedEdges = totalEdges - (size * size - 1);
+    interconnectivity = skippedEdges * interconnectivityPercentage / 100;
+  }
+
+  /**
+   * Builds a dungeon with the current parameters.
+   *
+   * @return the dungeon so it is not eliminated as dead code.
+   */
+  @Benchmark
+  public Dungeon construct() {
+    return new DungeonModel(size, size, wrapped, interconnectivity, 20, 1 + size / 10,
+            new SeededRandomizer(BenchmarkRunner.SEED), storage);
+  }
+}
@@ -0,0 +1,88 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import dungeon.Dungeon;
+import dungeon.DungeonFile;
+import dungeon.DungeonModel;
+import dungeon.MazeStorage;
+import randomizer.SeededRandomizer;
+
+/**
+ * Measures saving a dungeon to a file and loading it back, to compare with building the same
+ * dungeon in {@link DungeonConstructionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DungeonFileBenchmark {
+
+  @Param({"100", "1000"})
+  private int size;
+
+  private Dungeon dungeon;
+  private Path path;
+
+  /**
+   * Builds the dungeon and saves it once so there is a file to load.
+   *
+   * @throws IOException if the file cannot be written.
+   */
+  @Setup
+  public void setUp() throws IOException {
+    dungeon = new DungeonModel(size, size, false, 0, 20, 1 + size / 10,
+            new SeededRandomizer(BenchmarkRunner.SEED), MazeStorage.COMPACT);
+    path = Files.createTempFile("dungeon", ".bin");
+    DungeonFile.save(dungeon, path);
+  }
+
+  /**
+   * Deletes the saved file.
+   *
+   * @throws IOException if the file cannot be deleted.
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  /**
+   * Saves the dungeon.
+   *
+   * @throws IOException if the file cannot be written.
+   */
+  @Benchmark
+  public void save() throws IOException {
+    DungeonFile.save(dungeon, path);
+  }
+
+  /**
+   * Loads the saved dungeon.
+   *
+   * @return the loaded dungeon.
+   * @throws IOException if the file cannot be read.
+   */
+  @Benchmark
+  public Dungeon load() throws IOException {
+    return DungeonFile.load(path, new SeededRandomizer(BenchmarkRunner.SEED));
+  }
+}
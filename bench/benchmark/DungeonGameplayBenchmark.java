@@ -0,0 +1,180 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import dungeon.ArrowHitOutcome;
+import dungeon.Dungeon;
+import dungeon.DungeonModel;
+import dungeon.Location;
+import dungeon.MazeStorage;
+import dungeon.Move;
+import dungeon.SmellLevel;
+import randomizer.SeededRandomizer;
+
+/**
+ * Measures the time and allocation of the dungeon operations used while a game is played.
+ * The dungeon of every trial is built once from a fixed seed. It has a single monster at the end
+ * cave and treasure in every cave, so the player can always move next to the start and pick
+ * treasure at the start.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DungeonGameplayBenchmark {
+
+  /**
+   * The dungeon built for a trial along with a copy that the player moves in.
+   */
+  @State(Scope.Thread)
+  public static class GameState {
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    @Param({"NODES", "COMPACT"})
+    private MazeStorage storage;
+
+    private Dungeon original;
+    private Dungeon dungeon;
+    private Move move;
+    private Move back;
+    private Location[] locations;
+    private int locationIndex;
+
+    /**
+     * Builds the dungeon of the trial and finds a move that can be undone from the start.
+     */
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+      original = new DungeonModel(size, size, false, 0, 100, 1,
+              new SeededRandomizer(BenchmarkRunner.SEED), storage);
+      move = original.getStartLocation().getNextMoves().iterator().next();
+      back = move.getOpposite();
+      List<List<Location>> maze = original.getMaze();
+      locations = new Location[size * size];
+      for (int row = 0; row < size; row++) {
+        for (int column = 0; column < size; column++) {
+          locations[row * size + column] = maze.get(row).get(column);
+        }
+      }
+    }
+
+    /**
+     * Starts every iteration with the player back at the start.
+     */
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+      dungeon = new DungeonModel(original);
+      locationIndex = 0;
+    }
+  }
+
+  /**
+   * A fresh copy of the trial dungeon for every invocation, used by the operations that use up
+   * the arrows or treasure of the player. The copy is not part of the measured time, but the
+   * measurement of these short operations includes the overhead of the per invocation setup.
+   */
+  @State(Scope.Thread)
+  public static class FreshGameState {
+    private Dungeon dungeon;
+
+    /**
+     * Copies the dungeon of the trial.
+     *
+     * @param game the state holding the dungeon of the trial.
+     */
+    @Setup(Level.Invocation)
+    public void setUp(GameState game) {
+      dungeon = new DungeonModel(game.original);
+    }
+  }
+
+  /**
+   * Moves the player away from the start and back.
+   *
+   * @param game the state of the game.
+   * @return the location of the player.
+   */
+  @Benchmark
+  @OperationsPerInvocation(2)
+  public Location movePlayer(GameState game) {
+    game.dungeon.movePlayer(game.move);
+    game.dungeon.movePlayer(game.back);
+    return game.dungeon.getPlayerCurrentLocation();
+  }
+
+  /**
+   * Gets the smell of the next location, going through every location of the maze in turn.
+   *
+   * @param game the state of the game.
+   * @return the smell level.
+   */
+  @Benchmark
+  public SmellLevel getSmell(GameState game) {
+    Location location = game.locations[game.locationIndex];
+    game.locationIndex = (game.locationIndex + 1) % game.locations.length;
+    return game.dungeon.getSmell(location);
+  }
+
+  /**
+   * Returns the whole maze.
+   *
+   * @param game the state of the game.
+   * @return the maze.
+   */
+  @Benchmark
+  public List<List<Location>> getMaze(GameState game) {
+    return game.dungeon.getMaze();
+  }
+
+  /**
+   * Copies the dungeon with the player at the start.
+   *
+   * @param game the state of the game.
+   * @return the copy.
+   */
+  @Benchmark
+  public Dungeon copyDungeon(GameState game) {
+    return new DungeonModel(game.original);
+  }
+
+  /**
+   * Shoots an arrow from the start into the neighbouring location.
+   *
+   * @param game  the state of the game.
+   * @param fresh the dungeon copy of this invocation.
+   * @return the outcome of the shot.
+   */
+  @Benchmark
+  public ArrowHitOutcome shootArrow(GameState game, FreshGameState fresh) {
+    return fresh.dungeon.shootArrow(game.move, 1);
+  }
+
+  /**
+   * Picks up the treasure at the start.
+   *
+   * @param fresh the dungeon copy of this invocation.
+   * @return the dungeon.
+   */
+  @Benchmark
+  public Dungeon playerPickTreasure(FreshGameState fresh) {
+    fresh.dungeon.playerPickTreasure();
+    return fresh.dungeon;
+  }
+}
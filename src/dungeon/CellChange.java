@@ -0,0 +1,82 @@
+package dungeon;
+
+import java.util.Objects;
+
+/**
+ * Represents a change to a single cell of a dungeon.
+ */
+public final class CellChange {
+  private final int row;
+  private final int column;
+  private final ChangeReason reason;
+
+  /**
+   * Creates a change of the cell at the provided row and column.
+   *
+   * @param row    the row of the cell.
+   * @param column the column of the cell.
+   * @param reason why the cell changed.
+   * @throws IllegalArgumentException if row or column is negative or reason is null or not a
+   *                                  cell change.
+   */
+  public CellChange(int row, int column, ChangeReason reason) throws IllegalArgumentException {
+    if (row < 0 || column < 0) {
+      throw new IllegalArgumentException("Row and column cannot be negative");
+    }
+    if (reason == null || !reason.isCellChange()) {
+      throw new IllegalArgumentException("Please provide a reason that changes a cell");
+    }
+    this.row = row;
+    this.column = column;
+    this.reason = reason;
+  }
+
+  /**
+   * Returns the row of the changed cell.
+   *
+   * @return the row.
+   */
+  public int getRow() {
+    return row;
+  }
+
+  /**
+   * Returns the column of the changed cell.
+   *
+   * @return the column.
+   */
+  public int getColumn() {
+    return column;
+  }
+
+  /**
+   * Returns why the cell changed.
+   *
+   * @return the reason.
+   */
+  public ChangeReason getReason() {
+    return reason;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CellChange)) {
+      return false;
+    }
+    CellChange that = (CellChange) o;
+    return row == that.row && column == that.column && reason == that.reason;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(row, column, reason);
+  }
+
+  @Override
+  public String toString() {
+    return reason + " at (" + row + ", " + column + ")";
+  }
+}
@@ -0,0 +1,67 @@
+package dungeon;
+
+/**
+ * Represents why a dungeon changed. The reasons that change a single cell are reported along
+ * with the cell in a {@link CellChange}, the others are changes to the state of the game.
+ */
+public enum ChangeReason {
+  /**
+   * The player moved out of the cell.
+   */
+  PLAYER_LEFT(true),
+  /**
+   * The player moved into the cell.
+   */
+  PLAYER_ENTERED(true),
+  /**
+   * The treasure in the cell was picked up.
+   */
+  TREASURE_PICKED(true),
+  /**
+   * The arrows in the cell were picked up.
+   */
+  ARROWS_PICKED(true),
+  /**
+   * The monster in the cell was injured by an arrow.
+   */
+  MONSTER_INJURED(true),
+  /**
+   * The monster in the cell was killed by an arrow.
+   */
+  MONSTER_KILLED(true),
+  /**
+   * The smell level of the cell changed.
+   */
+  SMELL_CHANGED(true),
+  /**
+   * The arrows or treasure of the player changed.
+   */
+  PLAYER_INVENTORY(false),
+  /**
+   * The player was killed by a monster.
+   */
+  PLAYER_KILLED(false),
+  /**
+   * The player reached the end cave.
+   */
+  END_REACHED(false),
+  /**
+   * The game is over.
+   */
+  GAME_OVER(false);
+
+  private final boolean cellChange;
+
+  ChangeReason(boolean cellChange) {
+    this.cellChange = cellChange;
+  }
+
+  /**
+   * Checks whether this reason is reported for a single cell.
+   *
+   * @return true if this reason changes a cell, false if it changes the state of the game.
+   */
+  public boolean isCellChange() {
+    return cellChange;
+  }
+}
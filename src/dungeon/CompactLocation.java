@@ -0,0 +1,261 @@
+package dungeon;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Represents a lightweight view of a single cell of a CompactMazeGrid.
+ * It holds no state of its own, all reads and writes go to the arrays of the grid, so any
+ * number of views of the same cell can exist at the same time.
+ */
+//package-private
+final class CompactLocation implements LocationPrivate {
+  private static final Treasure[] TREASURES = Treasure.values();
+
+  private final CompactMazeGrid grid;
+  private final int row;
+  private final int column;
+  private final int cell;
+
+  /**
+   * Creates a view of the cell at the given row and column of the grid.
+   *
+   * @param grid   the grid that stores the cell.
+   * @param row    the row position of the cell.
+   * @param column the column position of the cell.
+   */
+  public CompactLocation(CompactMazeGrid grid, int row, int column) {
+    this.grid = grid;
+    this.row = row;
+    this.column = column;
+    this.cell = row * grid.getColumns() + column;
+  }
+
+  @Override
+  public void setNextMove(Move move) throws IllegalArgumentException {
+    if (move == null) {
+      throw new IllegalArgumentException("Move cannot be null");
+    }
+    grid.addMove(cell, move);
+  }
+
+  @Override
+  public void setTreasure(Treasure treasure, int treasureQuantity)
+          throws IllegalArgumentException {
+    if (treasure == null) {
+      throw new IllegalArgumentException("Treasure cannot be null");
+    }
+    if (treasureQuantity < 0) {
+      throw new IllegalArgumentException("Treasure quantity cannot be less than 0");
+    }
+    grid.setTreasure(cell, treasure, grid.getTreasure(cell, treasure) + treasureQuantity);
+  }
+
+  @Override
+  public void pickTreasure(Treasure treasure, int treasureQuantity)
+          throws IllegalArgumentException {
+    if (treasure == null) {
+      throw new IllegalArgumentException("Treasure cannot be null");
+    }
+    int quantity = grid.getTreasure(cell, treasure);
+    if (quantity == 0 || treasureQuantity < 0 || quantity - treasureQuantity < 0) {
+      throw new IllegalArgumentException(
+              "No such treasure or treasure quantity insufficient or treasure to be picked is "
+                      + "negative");
+    }
+    grid.setTreasure(cell, treasure, quantity - treasureQuantity);
+  }
+
+  @Override
+  public int[] pickAllTreasure() {
+    int[] picked = new int[TREASURES.length];
+    for (Treasure treasureType : TREASURES) {
+      picked[treasureType.ordinal()] = grid.getTreasure(cell, treasureType);
+    }
+    grid.clearTreasure(cell);
+    return picked;
+  }
+
+  @Override
+  public Set<Move> getNextMoves() {
+    Set<Move> nextMoves = EnumSet.noneOf(Move.class);
+    nextMoves.addAll(Move.fromMask(grid.getMoveMask(cell)));
+    return nextMoves;
+  }
+
+  @Override
+  public int getMoveMask() {
+    return grid.getMoveMask(cell);
+  }
+
+  @Override
+  public boolean hasMove(Move move) throws IllegalArgumentException {
+    if (move == null) {
+      throw new IllegalArgumentException("Move cannot be null");
+    }
+    return (grid.getMoveMask(cell) & move.getMask()) != 0;
+  }
+
+  @Override
+  public Map<Treasure, Integer> getTreasure() {
+    int[] treasure = new int[TREASURES.length];
+    for (Treasure treasureType : TREASURES) {
+      treasure[treasureType.ordinal()] = grid.getTreasure(cell, treasureType);
+    }
+    return Treasure.toMap(treasure);
+  }
+
+  @Override
+  public int getTreasureCount(Treasure treasure) throws IllegalArgumentException {
+    if (treasure == null) {
+      throw new IllegalArgumentException("Treasure cannot be null");
+    }
+    return grid.getTreasure(cell, treasure);
+  }
+
+  @Override
+  public int getTotalTreasure() {
+    int total = 0;
+    for (Treasure treasureType : TREASURES) {
+      total += grid.getTreasure(cell, treasureType);
+    }
+    return total;
+  }
+
+  @Override
+  public int getRow() {
+    return row;
+  }
+
+  @Override
+  public int getColumn() {
+    return column;
+  }
+
+  @Override
+  public boolean hasTreasure() {
+    return grid.hasTreasure(cell);
+  }
+
+  @Override
+  public boolean hasMonster() {
+    return grid.getMonsterHealth(cell) > 0;
+  }
+
+  @Override
+  public Monster getMonster() {
+    if (grid.getMonsterHealth(cell) < 0) {
+      return null;
+    }
+    return new CellMonster(grid, cell);
+  }
+
+  @Override
+  public boolean isCave() {
+    return Integer.bitCount(grid.getMoveMask(cell)) != 2;
+  }
+
+  @Override
+  public boolean hasArrows() {
+    return grid.getArrows(cell) > 0;
+  }
+
+  @Override
+  public int getArrows() {
+    return grid.getArrows(cell);
+  }
+
+  @Override
+  public boolean isExplored() {
+    return grid.isExplored(cell);
+  }
+
+  @Override
+  public void setMonster() {
+    if (grid.getMonsterHealth(cell) < 0) {
+      grid.setMonsterHealth(cell, Otyugh.DEFAULT_HEALTH);
+    }
+  }
+
+  @Override
+  public void hitMonster() {
+    int health = grid.getMonsterHealth(cell);
+    if (health > 0) {
+      grid.setMonsterHealth(cell, health - 1);
+    }
+  }
+
+  @Override
+  public int pickArrows() throws IllegalStateException {
+    int arrows = grid.getArrows(cell);
+    if (arrows > 0) {
+      grid.setArrows(cell, 0);
+      return arrows;
+    }
+    throw new IllegalStateException("There are no arrows to pick");
+  }
+
+  @Override
+  public void setArrows(int numberOfArrows) {
+    grid.setArrows(cell, numberOfArrows);
+  }
+
+  @Override
+  public void setExplored() {
+    grid.setExplored(cell);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CompactLocation)) {
+      return false;
+    }
+    CompactLocation that = (CompactLocation) o;
+    return grid == that.grid && cell == that.cell;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(grid) * 31 + cell;
+  }
+
+  /*
+   * Represents the monster in a cell of the grid.
+   */
+  private static final class CellMonster implements Monster {
+    private final CompactMazeGrid grid;
+    private final int cell;
+
+    private CellMonster(CompactMazeGrid grid, int cell) {
+      this.grid = grid;
+      this.cell = cell;
+    }
+
+    @Override
+    public int getHealth() {
+      return Math.max(grid.getMonsterHealth(cell), 0);
+    }
+
+    @Override
+    public void arrowHit() {
+      int health = grid.getMonsterHealth(cell);
+      if (health > 0) {
+        grid.setMonsterHealth(cell, health - 1);
+      }
+    }
+
+    @Override
+    public boolean isInjured() {
+      return getHealth() != Otyugh.DEFAULT_HEALTH;
+    }
+
+    @Override
+    public boolean isDead() {
+      return getHealth() == 0;
+    }
+  }
+}
@@ -0,0 +1,319 @@
+package dungeon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/*
+ * Represents a maze grid stored as primitive arrays, one entry per cell in row major order.
+ * The exits of a cell are a 4 bit mask in a byte array, one bit per Move ordinal. Everything
+ * else about a cell is packed into a single int:
+ *   bits  0-20 treasure quantity, 7 bits per Treasure ordinal
+ *   bits 21-28 number of arrows
+ *   bits 29-30 monster, 0 if there is no monster otherwise the monster health + 1
+ *   bit  31    explored flag
+ * Locations handed out by this grid are CompactLocation views created on demand.
+ *
+ * Copies of the grid share state instead of duplicating it. The move masks are the topology of
+ * the maze, they are shared as is and only cloned if a grid sharing them adds a move. The cell
+ * contents are split into pages of PAGE_SIZE cells, a copy only clones the table of pages and a
+ * page is cloned the first time a grid that shares it writes to it. Restarting a game of any size
+ * therefore only costs the page table, and a game only allocates the pages it changes.
+ */
+//package-private
+final class CompactMazeGrid implements MazeGrid {
+  static final int MAX_TREASURE = 127;
+  static final int MAX_ARROWS = 255;
+  private static final int TREASURE_BITS = 7;
+  private static final int ARROWS_SHIFT = 21;
+  private static final int MONSTER_SHIFT = 29;
+  private static final int MONSTER_MASK = 0x3;
+  private static final int EXPLORED_BIT = 1 << 31;
+  private static final int PAGE_BITS = 10;
+  private static final int PAGE_SIZE = 1 << PAGE_BITS;
+  private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+  private final int rows;
+  private final int columns;
+  private final int[][] pages;
+  private final boolean[] ownedPages;
+  private byte[] moves;
+  private boolean movesShared;
+  private int[] monsterCells;
+  private int numberOfMonsters;
+
+  /**
+   * Creates a grid of unconnected cells.
+   *
+   * @param rows    the number of rows in the grid.
+   * @param columns the number of columns in the grid.
+   * @throws IllegalArgumentException if rows or columns are not positive.
+   */
+  public CompactMazeGrid(int rows, int columns) throws IllegalArgumentException {
+    if (rows <= 0 || columns <= 0) {
+      throw new IllegalArgumentException("Rows and columns must be positive");
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.moves = new byte[rows * columns];
+    this.movesShared = false;
+    int cells = rows * columns;
+    this.pages = new int[(cells + PAGE_SIZE - 1) >>> PAGE_BITS][];
+    this.ownedPages = new boolean[pages.length];
+    for (int page = 0; page < pages.length; page++) {
+      pages[page] = new int[Math.min(PAGE_SIZE, cells - (page << PAGE_BITS))];
+      ownedPages[page] = true;
+    }
+    this.monsterCells = new int[0];
+    this.numberOfMonsters = 0;
+  }
+
+  //Shares the topology and the pages of the grid. From now on both grids clone what they write.
+  //Writes the sharing flags of the grid, which must not be used by another thread meanwhile.
+  private CompactMazeGrid(CompactMazeGrid grid) {
+    this.rows = grid.rows;
+    this.columns = grid.columns;
+    this.moves = grid.moves;
+    this.movesShared = true;
+    grid.movesShared = true;
+    this.pages = grid.pages.clone();
+    this.ownedPages = new boolean[pages.length];
+    Arrays.fill(grid.ownedPages, false);
+    this.monsterCells = Arrays.copyOf(grid.monsterCells, grid.numberOfMonsters);
+    this.numberOfMonsters = grid.numberOfMonsters;
+    restoreMonsters();
+  }
+
+  /**
+   * Returns the grid if it is a compact grid, otherwise a new compact grid holding exactly the
+   * same cells.
+   *
+   * @param grid the grid to convert.
+   * @return the compact grid.
+   * @throws IllegalArgumentException if the grid is null or a cell holds more treasure or arrows
+   *                                  than a compact cell can store.
+   */
+  static CompactMazeGrid asCompact(MazeGrid grid) throws IllegalArgumentException {
+    if (grid == null) {
+      throw new IllegalArgumentException("Grid cannot be null");
+    }
+    if (grid instanceof CompactMazeGrid) {
+      return (CompactMazeGrid) grid;
+    }
+    CompactMazeGrid copy = new CompactMazeGrid(grid.getRows(), grid.getColumns());
+    for (int row = 0; row < copy.rows; row++) {
+      for (int column = 0; column < copy.columns; column++) {
+        int cell = row * copy.columns + column;
+        LocationPrivate location = grid.getLocation(row, column);
+        copy.moves[cell] = (byte) grid.getMoveMask(cell);
+        for (Treasure treasure : Treasure.values()) {
+          copy.setTreasure(cell, treasure, location.getTreasureCount(treasure));
+        }
+        copy.setArrows(cell, location.getArrows());
+        copy.setMonsterHealth(cell, grid.getMonsterHealth(cell));
+        if (location.isExplored()) {
+          copy.setExplored(cell);
+        }
+      }
+    }
+    return copy;
+  }
+
+  /**
+   * Reads a grid written by {@link #write(WritableByteChannel)} in bulk from the buffer, starting
+   * at its position. The position is moved past the grid.
+   *
+   * @param buffer  the buffer holding the grid.
+   * @param rows    the number of rows in the grid.
+   * @param columns the number of columns in the grid.
+   * @return the grid.
+   * @throws IllegalArgumentException if rows or columns are not positive or the buffer does not
+   *                                  hold a complete grid.
+   */
+  static CompactMazeGrid read(ByteBuffer buffer, int rows, int columns)
+          throws IllegalArgumentException {
+    long cells = (long) rows * columns;
+    if (cells > Integer.MAX_VALUE
+            || buffer.remaining() < cells * (Byte.BYTES + Integer.BYTES) + Integer.BYTES) {
+      throw new IllegalArgumentException("Buffer does not hold a complete grid");
+    }
+    CompactMazeGrid grid = new CompactMazeGrid(rows, columns);
+    buffer.get(grid.moves);
+    IntBuffer ints = buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    for (int[] page : grid.pages) {
+      ints.get(page);
+    }
+    int numberOfMonsters = ints.get();
+    if (numberOfMonsters < 0 || numberOfMonsters > cells || numberOfMonsters > ints.remaining()) {
+      throw new IllegalArgumentException("Buffer does not hold a complete grid");
+    }
+    grid.monsterCells = new int[numberOfMonsters];
+    ints.get(grid.monsterCells);
+    for (int cell : grid.monsterCells) {
+      if (cell < 0 || cell >= cells) {
+        throw new IllegalArgumentException("Buffer does not hold a complete grid");
+      }
+    }
+    grid.numberOfMonsters = numberOfMonsters;
+    buffer.position(buffer.position() + ints.position() * Integer.BYTES);
+    return grid;
+  }
+
+  /**
+   * Writes the grid to the channel: the move mask of every cell, the packed contents of every
+   * cell as little endian ints, the number of cells that ever had a monster and those cells.
+   *
+   * @param channel the channel to write to.
+   * @throws IOException if the channel cannot be written.
+   */
+  void write(WritableByteChannel channel) throws IOException {
+    writeFully(channel, ByteBuffer.wrap(moves));
+    ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE * Integer.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    for (int[] page : pages) {
+      buffer.clear();
+      buffer.asIntBuffer().put(page);
+      buffer.limit(page.length * Integer.BYTES);
+      writeFully(channel, buffer);
+    }
+    ByteBuffer monsters = ByteBuffer.allocate((numberOfMonsters + 1) * Integer.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    monsters.putInt(numberOfMonsters);
+    monsters.asIntBuffer().put(monsterCells, 0, numberOfMonsters);
+    monsters.clear();
+    writeFully(channel, monsters);
+  }
+
+  private static void writeFully(WritableByteChannel channel, ByteBuffer buffer)
+          throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  @Override
+  public int getRows() {
+    return rows;
+  }
+
+  @Override
+  public int getColumns() {
+    return columns;
+  }
+
+  @Override
+  public LocationPrivate getLocation(int row, int column) throws IllegalArgumentException {
+    if (row < 0 || column < 0 || row >= rows || column >= columns) {
+      throw new IllegalArgumentException("Please provide valid coordinates");
+    }
+    return new CompactLocation(this, row, column);
+  }
+
+  @Override
+  public MazeGrid copy() {
+    return new CompactMazeGrid(this);
+  }
+
+  @Override
+  public int getMoveMask(int cell) {
+    return moves[cell];
+  }
+
+  void addMove(int cell, Move move) {
+    if (movesShared) {
+      moves = moves.clone();
+      movesShared = false;
+    }
+    moves[cell] |= (byte) move.getMask();
+  }
+
+  int getTreasure(int cell, Treasure treasure) {
+    return (read(cell) >>> (treasure.ordinal() * TREASURE_BITS)) & MAX_TREASURE;
+  }
+
+  void setTreasure(int cell, Treasure treasure, int quantity) throws IllegalArgumentException {
+    if (quantity < 0 || quantity > MAX_TREASURE) {
+      throw new IllegalArgumentException("Treasure quantity must be between 0 and "
+              + MAX_TREASURE);
+    }
+    int shift = treasure.ordinal() * TREASURE_BITS;
+    write(cell, (read(cell) & ~(MAX_TREASURE << shift)) | (quantity << shift));
+  }
+
+  void clearTreasure(int cell) {
+    write(cell, read(cell) & ~((1 << ARROWS_SHIFT) - 1));
+  }
+
+  boolean hasTreasure(int cell) {
+    return (read(cell) & ((1 << ARROWS_SHIFT) - 1)) != 0;
+  }
+
+  int getArrows(int cell) {
+    return (read(cell) >>> ARROWS_SHIFT) & MAX_ARROWS;
+  }
+
+  void setArrows(int cell, int arrows) throws IllegalArgumentException {
+    if (arrows < 0 || arrows > MAX_ARROWS) {
+      throw new IllegalArgumentException("Arrows must be between 0 and " + MAX_ARROWS);
+    }
+    write(cell, (read(cell) & ~(MAX_ARROWS << ARROWS_SHIFT)) | (arrows << ARROWS_SHIFT));
+  }
+
+  @Override
+  public int getMonsterHealth(int cell) {
+    return ((read(cell) >>> MONSTER_SHIFT) & MONSTER_MASK) - 1;
+  }
+
+  //Health of -1 removes the monster from the cell.
+  void setMonsterHealth(int cell, int health) {
+    if (health >= 0 && getMonsterHealth(cell) < 0) {
+      if (numberOfMonsters == monsterCells.length) {
+        monsterCells = Arrays.copyOf(monsterCells, Math.max(4, 2 * numberOfMonsters));
+      }
+      monsterCells[numberOfMonsters++] = cell;
+    }
+    write(cell, (read(cell) & ~(MONSTER_MASK << MONSTER_SHIFT))
+            | ((health + 1) << MONSTER_SHIFT));
+  }
+
+  boolean isExplored(int cell) {
+    return (read(cell) & EXPLORED_BIT) != 0;
+  }
+
+  @Override
+  public void setExplored(int cell) {
+    if (!isExplored(cell)) {
+      write(cell, read(cell) | EXPLORED_BIT);
+    }
+  }
+
+  private int read(int cell) {
+    return pages[cell >>> PAGE_BITS][cell & PAGE_MASK];
+  }
+
+  private void write(int cell, int value) {
+    int page = cell >>> PAGE_BITS;
+    if (!ownedPages[page]) {
+      pages[page] = pages[page].clone();
+      ownedPages[page] = true;
+    }
+    pages[page][cell & PAGE_MASK] = value;
+  }
+
+  //Living monsters get their full health back and dead monsters are removed. Only the cells that
+  //ever had a monster are visited, so pages without a wounded or dead monster stay shared.
+  private void restoreMonsters() {
+    for (int index = 0; index < numberOfMonsters; index++) {
+      int cell = monsterCells[index];
+      int health = getMonsterHealth(cell);
+      if (health > 0 && health != Otyugh.DEFAULT_HEALTH) {
+        setMonsterHealth(cell, Otyugh.DEFAULT_HEALTH);
+      } else if (health == 0) {
+        setMonsterHealth(cell, -1);
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package dungeon;
+
+/*
+ * Represents a union-find structure over the cells of the maze.
+ * Cells are identified by their id (row * columns + column) and components are tracked in
+ * primitive arrays using path compression and union by rank.
+ */
+//package-private
+final class DisjointSet {
+  private final int[] parent;
+  private final int[] rank;
+
+  /**
+   * Creates a disjoint set where every element is in its own component.
+   *
+   * @param size the number of elements.
+   * @throws IllegalArgumentException if size is negative.
+   */
+  public DisjointSet(int size) throws IllegalArgumentException {
+    if (size < 0) {
+      throw new IllegalArgumentException("Size cannot be negative");
+    }
+    this.parent = new int[size];
+    this.rank = new int[size];
+    for (int i = 0; i < size; i++) {
+      parent[i] = i;
+    }
+  }
+
+  /**
+   * Returns the representative of the component containing the element.
+   *
+   * @param element the element whose component is to be found.
+   * @return the representative element of the component.
+   * @throws IllegalArgumentException if element is out of range.
+   */
+  public int find(int element) throws IllegalArgumentException {
+    if (element < 0 || element >= parent.length) {
+      throw new IllegalArgumentException("Element out of range");
+    }
+    int root = element;
+    while (parent[root] != root) {
+      root = parent[root];
+    }
+    while (parent[element] != root) {
+      int next = parent[element];
+      parent[element] = root;
+      element = next;
+    }
+    return root;
+  }
+
+  /**
+   * Merges the components containing the two elements.
+   *
+   * @param elementA the first element.
+   * @param elementB the second element.
+   * @return true if the elements were in different components and have been merged, false if
+   *         they were already in the same component.
+   * @throws IllegalArgumentException if either element is out of range.
+   */
+  public boolean union(int elementA, int elementB) throws IllegalArgumentException {
+    int rootA = find(elementA);
+    int rootB = find(elementB);
+    if (rootA == rootB) {
+      return false;
+    }
+    if (rank[rootA] < rank[rootB]) {
+      parent[rootA] = rootB;
+    } else if (rank[rootA] > rank[rootB]) {
+      parent[rootB] = rootA;
+    } else {
+      parent[rootB] = rootA;
+      rank[rootA]++;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of elements in this disjoint set.
+   *
+   * @return the number of elements.
+   */
+  public int size() {
+    return parent.length;
+  }
+}
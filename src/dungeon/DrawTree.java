@@ -0,0 +1,72 @@
+package dungeon;
+
+/*
+ * Represents a set of slots that are drawn one at a time by their position among the slots that
+ * have not been drawn yet. Drawing index i gives the same slot as removing index i from a list
+ * of the remaining slots, but uses a Fenwick tree so a draw takes O(log n) and never shifts the
+ * remaining elements.
+ */
+//package-private
+final class DrawTree {
+  private final int size;
+  private final int[] tree;
+  private int remaining;
+
+  /**
+   * Creates a draw tree where all the slots from 0 to size - 1 are available.
+   *
+   * @param size the number of slots.
+   * @throws IllegalArgumentException if size is negative.
+   */
+  public DrawTree(int size) throws IllegalArgumentException {
+    if (size < 0) {
+      throw new IllegalArgumentException("Size cannot be negative");
+    }
+    this.size = size;
+    this.remaining = size;
+    this.tree = new int[size + 1];
+    for (int i = 1; i <= size; i++) {
+      tree[i]++;
+      int parent = i + (i & -i);
+      if (parent <= size) {
+        tree[parent] += tree[i];
+      }
+    }
+  }
+
+  /**
+   * Returns the number of slots that have not been drawn yet.
+   *
+   * @return number of remaining slots.
+   */
+  public int remaining() {
+    return remaining;
+  }
+
+  /**
+   * Removes the slot at the given position among the remaining slots.
+   *
+   * @param index position of the slot among the remaining slots.
+   * @return the drawn slot.
+   * @throws IllegalArgumentException if index is not between 0 and remaining - 1.
+   */
+  public int draw(int index) throws IllegalArgumentException {
+    if (index < 0 || index >= remaining) {
+      throw new IllegalArgumentException("Index must be between 0 and " + (remaining - 1));
+    }
+    int position = 0;
+    int rank = index + 1;
+    for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+      int next = position + step;
+      if (next <= size && tree[next] < rank) {
+        position = next;
+        rank -= tree[next];
+      }
+    }
+    for (int i = position + 1; i <= size; i += i & -i) {
+      tree[i]--;
+    }
+    remaining--;
+    return position;
+  }
+}
@@ -16,6 +16,17 @@ public interface Dungeon extends ReadOnlyDungeon {
    */
   void movePlayer(Move move) throws IllegalArgumentException, IllegalStateException;
 
+  /**
+   * Moves the player along the provided path in a single action. The player stops before the
+   * first move that is not valid from their location and after the move that ends the game.
+   *
+   * @param path the moves to be executed in order.
+   * @return the number of moves made.
+   * @throws IllegalArgumentException if path is null.
+   * @throws IllegalStateException if game is over and player is dead.
+   */
+  int movePlayer(Move... path) throws IllegalArgumentException, IllegalStateException;
+
   /**
    * Makes the player pick the treasure at the current location.
    *
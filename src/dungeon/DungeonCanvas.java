@@ -0,0 +1,184 @@
+package dungeon;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import javax.swing.JComponent;
+
+/**
+ * Paints the cells of a dungeon, CELL_SIZE pixels square, from the tile code of every cell kept
+ * by the canvas. The codes come from {@link DungeonSnapshot}s, so painting never reads the
+ * dungeon. Every cell is drawn with a single tile from a {@link TileCache}.
+ * Only the cells that intersect the area being painted and the visible part of the canvas are
+ * drawn, so the time used by a paint depends on the size of the window and not on the size of
+ * the dungeon. The dungeon is centered when it is smaller than the canvas.
+ */
+//package-private class
+class DungeonCanvas extends JComponent {
+  private static final long serialVersionUID = 1L;
+  static final int CELL_SIZE = 64;
+  //More than the number of different tiles on a screen, far less than every possible tile.
+  private static final int TILE_CAPACITY = 512;
+  //Tile image of every move mask, the moves of a tile are in the order of the Move enum.
+  static final String[] CELL_IMAGES = createCellImages();
+
+  private final TileCache tiles;
+  private int rows;
+  private int columns;
+  //Tile code of every cell, null until a dungeon is set. Four bytes per cell of the dungeon,
+  //since the event dispatch thread cannot read the dungeon for the cells it scrolls to.
+  private int[] codes;
+
+  /**
+   * Creates an empty canvas that draws with the provided images.
+   *
+   * @param sprites the images of the cells.
+   * @throws IllegalArgumentException if sprites is null.
+   */
+  DungeonCanvas(SpriteCache sprites) throws IllegalArgumentException {
+    if (sprites == null) {
+      throw new IllegalArgumentException("Sprites cannot be null");
+    }
+    this.tiles = new TileCache(sprites, CELL_SIZE, TILE_CAPACITY);
+    this.rows = 0;
+    this.columns = 0;
+    this.codes = null;
+    setOpaque(true);
+  }
+
+  /**
+   * Sets the dungeon to paint and paints it in full.
+   *
+   * @param snapshot a snapshot of every cell of the dungeon.
+   * @throws IllegalArgumentException if snapshot is null or does not hold every cell.
+   */
+  void setDungeon(DungeonSnapshot snapshot) throws IllegalArgumentException {
+    if (snapshot == null || !snapshot.hasEveryCell()) {
+      throw new IllegalArgumentException("Please provide a snapshot of every cell");
+    }
+    this.rows = snapshot.rows();
+    this.columns = snapshot.columns();
+    this.codes = new int[snapshot.getCellCount()];
+    for (int cell = 0; cell < codes.length; cell++) {
+      codes[cell] = snapshot.getCode(cell);
+    }
+    revalidate();
+    repaint();
+  }
+
+  /**
+   * Updates the cells in the snapshot and paints them again.
+   *
+   * @param snapshot a snapshot of the changed cells of the dungeon that was set.
+   * @throws IllegalArgumentException if snapshot is null or of another dungeon.
+   */
+  void update(DungeonSnapshot snapshot) throws IllegalArgumentException {
+    if (snapshot == null || snapshot.rows() != rows || snapshot.columns() != columns) {
+      throw new IllegalArgumentException("Please provide a snapshot of the dungeon");
+    }
+    for (int i = 0; i < snapshot.getCellCount(); i++) {
+      int cell = snapshot.getCell(i);
+      codes[cell] = snapshot.getCode(i);
+      repaintCell(cell / columns, cell % columns);
+    }
+  }
+
+  /**
+   * Returns the row of the cell at the provided y coordinate of the canvas.
+   *
+   * @param y the y coordinate.
+   * @return the row or -1 if there is no cell at that coordinate.
+   */
+  int getRowAt(int y) {
+    if (codes == null || y < getOriginY()) {
+      return -1;
+    }
+    int row = (y - getOriginY()) / CELL_SIZE;
+    return row < rows ? row : -1;
+  }
+
+  /**
+   * Returns the column of the cell at the provided x coordinate of the canvas.
+   *
+   * @param x the x coordinate.
+   * @return the column or -1 if there is no cell at that coordinate.
+   */
+  int getColumnAt(int x) {
+    if (codes == null || x < getOriginX()) {
+      return -1;
+    }
+    int column = (x - getOriginX()) / CELL_SIZE;
+    return column < columns ? column : -1;
+  }
+
+  /**
+   * Returns the area of the canvas covered by the cell at the provided row and column.
+   *
+   * @param row    the row of the cell.
+   * @param column the column of the cell.
+   * @return the area of the cell.
+   */
+  Rectangle getCellBounds(int row, int column) {
+    return new Rectangle(getOriginX() + column * CELL_SIZE, getOriginY() + row * CELL_SIZE,
+            CELL_SIZE, CELL_SIZE);
+  }
+
+  private void repaintCell(int row, int column) {
+    repaint(getCellBounds(row, column));
+  }
+
+  @Override
+  public Dimension getPreferredSize() {
+    if (codes == null || isPreferredSizeSet()) {
+      return super.getPreferredSize();
+    }
+    return new Dimension((int) Math.min(Integer.MAX_VALUE, (long) columns * CELL_SIZE),
+            (int) Math.min(Integer.MAX_VALUE, (long) rows * CELL_SIZE));
+  }
+
+  @Override
+  protected void paintComponent(Graphics graphics) {
+    Rectangle area = graphics.getClipBounds();
+    if (area == null) {
+      area = new Rectangle(0, 0, getWidth(), getHeight());
+    }
+    area = area.intersection(getVisibleRect());
+    graphics.setColor(getBackground());
+    graphics.fillRect(area.x, area.y, area.width, area.height);
+    if (codes == null || area.isEmpty()) {
+      return;
+    }
+    int originX = getOriginX();
+    int originY = getOriginY();
+    int firstRow = Math.max(0, (area.y - originY) / CELL_SIZE);
+    int lastRow = Math.min(rows - 1, (area.y + area.height - 1 - originY) / CELL_SIZE);
+    int firstColumn = Math.max(0, (area.x - originX) / CELL_SIZE);
+    int lastColumn = Math.min(columns - 1, (area.x + area.width - 1 - originX) / CELL_SIZE);
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int column = firstColumn; column <= lastColumn; column++) {
+        graphics.drawImage(tiles.getTile(codes[row * columns + column]),
+                originX + column * CELL_SIZE, originY + row * CELL_SIZE, null);
+      }
+    }
+  }
+
+  private int getOriginX() {
+    return Math.max(0, (getWidth() - columns * CELL_SIZE) / 2);
+  }
+
+  private int getOriginY() {
+    return Math.max(0, (getHeight() - rows * CELL_SIZE) / 2);
+  }
+
+  private static String[] createCellImages() {
+    String[] cellImages = new String[16];
+    for (int mask = 0; mask < cellImages.length; mask++) {
+      StringBuilder fileName = new StringBuilder("/color-cells/");
+      for (Move move : Move.fromMask(mask)) {
+        fileName.append(move.getShortForm());
+      }
+      cellImages[mask] = fileName.append(".png").toString();
+    }
+    return cellImages;
+  }
+}
@@ -0,0 +1,67 @@
+package dungeon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents everything that changed in a dungeon during a single action, such as a move or a
+ * shot. The cells are listed in the order they changed and a cell can be listed once for every
+ * reason it changed.
+ */
+public final class DungeonChange {
+  private final List<CellChange> cellChanges;
+  private final Set<ChangeReason> reasons;
+
+  /**
+   * Creates a change from the changed cells and the reasons of the whole action.
+   *
+   * @param cellChanges the changed cells.
+   * @param reasons     every reason of the action, including the reasons of the cells.
+   * @throws IllegalArgumentException if cellChanges or reasons is null.
+   */
+  public DungeonChange(List<CellChange> cellChanges, Set<ChangeReason> reasons)
+          throws IllegalArgumentException {
+    if (cellChanges == null || reasons == null) {
+      throw new IllegalArgumentException("Cell changes and reasons cannot be null");
+    }
+    this.cellChanges = Collections.unmodifiableList(new ArrayList<>(cellChanges));
+    this.reasons = Collections.unmodifiableSet(reasons.isEmpty()
+            ? EnumSet.noneOf(ChangeReason.class) : EnumSet.copyOf(reasons));
+  }
+
+  /**
+   * Returns the changed cells.
+   *
+   * @return read only list of the changed cells.
+   */
+  public List<CellChange> getCellChanges() {
+    return cellChanges;
+  }
+
+  /**
+   * Returns every reason of the action.
+   *
+   * @return read only set of the reasons.
+   */
+  public Set<ChangeReason> getReasons() {
+    return reasons;
+  }
+
+  /**
+   * Checks whether the action changed the dungeon for the provided reason.
+   *
+   * @param reason the reason to check.
+   * @return true if the change includes the reason.
+   */
+  public boolean hasReason(ChangeReason reason) {
+    return reasons.contains(reason);
+  }
+
+  @Override
+  public String toString() {
+    return reasons + " " + cellChanges;
+  }
+}
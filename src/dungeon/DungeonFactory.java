@@ -0,0 +1,194 @@
+package dungeon;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import randomizer.Randomizer;
+import randomizer.SeededRandomizer;
+
+/**
+ * DungeonFactory keeps a small queue of dungeons generated in the background for the current
+ * game configuration, so a new game of the same configuration can start without waiting for the
+ * dungeon to be built. The queue is refilled in the background every time a dungeon is taken.
+ * Dungeons are only generated in the background when the provided randomizer is a
+ * {@link SeededRandomizer}. The factory then seeds its own randomizer with the same seed and every
+ * dungeon gets a split of it in the order they are taken, so the same seed always gives the same
+ * dungeons and the randomizer of the game is never used by the factory. Any other randomizer is
+ * used as is to generate the dungeon on the thread that takes it.
+ */
+public class DungeonFactory {
+  private final int capacity;
+  //Dungeons being generated or ready, in the order they are taken.
+  private final Deque<Future<Dungeon>> builds;
+  private final ExecutorService executor;
+  private Randomizer randomizer;
+  //Split for every dungeon generated in the background, null if the randomizer is not seeded.
+  private SeededRandomizer seeds;
+  private int rows;
+  private int columns;
+  private boolean wrapped;
+  private int interconnectivity;
+  private int treasureAndArrowPercentage;
+  private int numberOfMonsters;
+
+  /**
+   * Creates a dungeon factory that generates dungeons on background threads.
+   *
+   * @param capacity the maximum number of dungeons kept ready.
+   * @param threads  the number of background threads generating dungeons.
+   * @throws IllegalArgumentException if capacity or threads is less than 1.
+   */
+  public DungeonFactory(int capacity, int threads) throws IllegalArgumentException {
+    if (capacity < 1 || threads < 1) {
+      throw new IllegalArgumentException("Capacity and threads must be at least 1");
+    }
+    this.capacity = capacity;
+    this.builds = new ArrayDeque<>(capacity);
+    this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "dungeon-factory");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.randomizer = null;
+    this.seeds = null;
+  }
+
+  /**
+   * Sets the configuration of the dungeons to generate. Dungeons of the previous configuration
+   * that are queued are discarded and the ones still being generated are cancelled.
+   *
+   * @param rows                       the number of rows in the dungeon maze.
+   * @param columns                    the number of columns in the dungeon maze.
+   * @param wrapped                    if the maze is wrapped around edges or not.
+   * @param interconnectivity          the interconnectivity.
+   * @param treasureAndArrowPercentage the percentage of caves that have treasure or arrows.
+   * @param numberOfMonsters           the number of monsters in the dungeon of caves.
+   * @param randomizer                 the game randomizer to use.
+   * @throws IllegalArgumentException if randomizer is null or the configuration is not a valid
+   *                                  dungeon.
+   * @throws IllegalStateException    if the factory has been shut down.
+   */
+  public synchronized void setGameConfig(int rows, int columns, boolean wrapped,
+                                         int interconnectivity, int treasureAndArrowPercentage,
+                                         int numberOfMonsters, Randomizer randomizer)
+          throws IllegalArgumentException, IllegalStateException {
+    DungeonModel.validateConfig(rows, columns, wrapped, interconnectivity,
+            treasureAndArrowPercentage, numberOfMonsters, randomizer);
+    if (executor.isShutdown()) {
+      throw new IllegalStateException("Dungeon factory has been shut down");
+    }
+    cancelBuilds();
+    this.randomizer = randomizer;
+    this.seeds = randomizer instanceof SeededRandomizer
+            ? new SeededRandomizer(((SeededRandomizer) randomizer).getSeed()) : null;
+    this.rows = rows;
+    this.columns = columns;
+    this.wrapped = wrapped;
+    this.interconnectivity = interconnectivity;
+    this.treasureAndArrowPercentage = treasureAndArrowPercentage;
+    this.numberOfMonsters = numberOfMonsters;
+    refill();
+  }
+
+  /**
+   * Returns a new dungeon of the current configuration. The oldest dungeon generated in the
+   * background is returned, waiting for it if it is not ready yet. Without a seeded randomizer
+   * the dungeon is generated on the calling thread.
+   *
+   * @return the new dungeon.
+   * @throws IllegalArgumentException if the dungeon could not be generated.
+   * @throws IllegalStateException    if no configuration has been set, the factory has been shut
+   *                                  down or the dungeon was cancelled by a shutdown.
+   */
+  public Dungeon takeDungeon() throws IllegalArgumentException, IllegalStateException {
+    Future<Dungeon> build;
+    Supplier<Dungeon> localBuild = null;
+    synchronized (this) {
+      if (randomizer == null) {
+        throw new IllegalStateException("Please set game config before taking a dungeon");
+      }
+      if (executor.isShutdown()) {
+        throw new IllegalStateException("Dungeon factory has been shut down");
+      }
+      build = builds.poll();
+      if (build == null) {
+        localBuild = createBuild();
+      }
+      refill();
+    }
+    try {
+      return localBuild != null ? localBuild.get() : build.get();
+    } catch (ExecutionException ee) {
+      if (ee.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ee.getCause();
+      }
+      throw new IllegalStateException("Dungeon could not be generated", ee.getCause());
+    } catch (CancellationException ce) {
+      throw new IllegalStateException("Dungeon generation was cancelled by a shutdown", ce);
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a dungeon");
+    }
+  }
+
+  /**
+   * Returns the number of dungeons that are ready to be taken.
+   *
+   * @return number of queued dungeons.
+   */
+  public synchronized int getReadyCount() {
+    int ready = 0;
+    for (Future<Dungeon> build : builds) {
+      if (build.isDone() && !build.isCancelled()) {
+        ready++;
+      }
+    }
+    return ready;
+  }
+
+  /**
+   * Cancels the dungeons being generated and stops the background threads. Dungeons already
+   * being waited for that were not started are cancelled as well.
+   */
+  public synchronized void shutdown() {
+    cancelBuilds();
+    for (Runnable notStarted : executor.shutdownNow()) {
+      if (notStarted instanceof Future) {
+        ((Future<?>) notStarted).cancel(false);
+      }
+    }
+  }
+
+  private void cancelBuilds() {
+    for (Future<Dungeon> build : builds) {
+      build.cancel(true);
+    }
+    builds.clear();
+  }
+
+  //Keeps the number of dungeons being generated or ready at the capacity of the factory.
+  private void refill() {
+    while (seeds != null && !executor.isShutdown() && builds.size() < capacity) {
+      builds.add(executor.submit(createBuild()::get));
+    }
+  }
+
+  //Captures the current configuration so the build is not affected by later changes.
+  private Supplier<Dungeon> createBuild() {
+    final Randomizer buildRandomizer = seeds == null ? randomizer : seeds.split();
+    final int buildRows = rows;
+    final int buildColumns = columns;
+    final boolean buildWrapped = wrapped;
+    final int buildInterconnectivity = interconnectivity;
+    final int buildPercentage = treasureAndArrowPercentage;
+    final int buildMonsters = numberOfMonsters;
+    return () -> new DungeonModel(buildRows, buildColumns, buildWrapped,
+            buildInterconnectivity, buildPercentage, buildMonsters, buildRandomizer);
+  }
+}
@@ -0,0 +1,145 @@
+package dungeon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import randomizer.Randomizer;
+
+/**
+ * DungeonFile saves a {@link DungeonModel} to a binary file and loads it back. The file is a
+ * fixed size header followed by the cells in row major order, every number is little endian:
+ * <pre>
+ *   int    magic "DNGN" and format version
+ *   int    rows, columns
+ *   int    flags: wrapped, player visited the end, player is dead
+ *   int    start, end and current player cell, where a cell is row * columns + column
+ *   int    player arrows followed by the player quantity of every {@link Treasure} type
+ *   byte[] exits of every cell, one bit per {@link Move} ordinal
+ *   int[]  contents of every cell: treasure, arrows, monster health and explored flag
+ *   int    number of cells that have had a monster, followed by those cells
+ * </pre>
+ * The loader reads the whole file into a heap buffer and copies the cells into the maze in bulk,
+ * so loading a dungeon takes about as long as reading the file. The file is not memory mapped, so
+ * it is released as soon as it is read and can be saved over right away. Loaded dungeons always use
+ * {@link MazeStorage#COMPACT} storage.
+ */
+public final class DungeonFile {
+  /**
+   * The version of the format written by {@link #save(Dungeon, Path)}.
+   */
+  public static final int VERSION = 1;
+  private static final int MAGIC = 0x4E474E44;
+  private static final int WRAPPED = 1;
+  private static final int VISITED_END = 1 << 1;
+  private static final int PLAYER_DEAD = 1 << 2;
+  private static final int HEADER_SIZE = (9 + Treasure.values().length) * Integer.BYTES;
+
+  private DungeonFile() {
+  }
+
+  /**
+   * Saves the current state of the dungeon to the file, replacing the file if it exists.
+   *
+   * @param dungeon the dungeon to save.
+   * @param path    the file to save to.
+   * @throws IOException              if the file cannot be written.
+   * @throws IllegalArgumentException if dungeon or path is null or dungeon is not a
+   *                                  {@link DungeonModel}.
+   */
+  public static void save(Dungeon dungeon, Path path)
+          throws IOException, IllegalArgumentException {
+    if (!(dungeon instanceof DungeonModel) || path == null) {
+      throw new IllegalArgumentException("Please provide a DungeonModel and a path to save to");
+    }
+    DungeonModel model = (DungeonModel) dungeon;
+    CompactMazeGrid grid = CompactMazeGrid.asCompact(model.getGrid());
+    int columns = grid.getColumns();
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    header.putInt(MAGIC);
+    header.putInt(VERSION);
+    header.putInt(grid.getRows());
+    header.putInt(columns);
+    header.putInt((model.isWrapped() ? WRAPPED : 0)
+            | (model.playerVisitedEnd() ? VISITED_END : 0)
+            | (model.isPlayerDead() ? PLAYER_DEAD : 0));
+    for (Location location : new Location[]{model.getStartLocation(), model.getEndLocation(),
+        model.getPlayerCurrentLocation()}) {
+      header.putInt(location.getRow() * columns + location.getColumn());
+    }
+    Player player = model.getPlayerDescription();
+    header.putInt(player.getArrows());
+    for (Treasure treasure : Treasure.values()) {
+      header.putInt(player.getTreasureCount(treasure));
+    }
+    header.flip();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (header.hasRemaining()) {
+        channel.write(header);
+      }
+      grid.write(channel);
+    }
+  }
+
+  /**
+   * Loads a dungeon saved by {@link #save(Dungeon, Path)}.
+   *
+   * @param path       the file to load.
+   * @param randomizer the randomizer used by the loaded game.
+   * @return the loaded dungeon.
+   * @throws IOException              if the file cannot be read or is not a saved dungeon of a
+   *                                  supported version.
+   * @throws IllegalArgumentException if path or randomizer is null.
+   */
+  public static Dungeon load(Path path, Randomizer randomizer)
+          throws IOException, IllegalArgumentException {
+    if (path == null || randomizer == null) {
+      throw new IllegalArgumentException("Path and randomizer cannot be null");
+    }
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Saved dungeon is too large: " + path);
+      }
+      buffer = ByteBuffer.allocate((int) size);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) < 0) {
+          break;
+        }
+      }
+    }
+    buffer.flip();
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+      throw new IOException("Not a saved dungeon: " + path);
+    }
+    int version = buffer.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported saved dungeon version " + version + ": " + path);
+    }
+    int rows = buffer.getInt();
+    int columns = buffer.getInt();
+    int flags = buffer.getInt();
+    int startCell = buffer.getInt();
+    int endCell = buffer.getInt();
+    int currentCell = buffer.getInt();
+    int arrows = buffer.getInt();
+    int[] treasure = new int[Treasure.values().length];
+    for (int i = 0; i < treasure.length; i++) {
+      treasure[i] = buffer.getInt();
+    }
+    try {
+      CompactMazeGrid grid = CompactMazeGrid.read(buffer, rows, columns);
+      return new DungeonModel(grid, (flags & WRAPPED) != 0, startCell, endCell, currentCell,
+              new PlayerModel(arrows, treasure), (flags & VISITED_END) != 0,
+              (flags & PLAYER_DEAD) != 0, randomizer);
+    } catch (IllegalArgumentException iae) {
+      throw new IOException("Corrupt saved dungeon: " + path, iae);
+    }
+  }
+}
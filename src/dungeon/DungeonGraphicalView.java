@@ -1,24 +1,17 @@
 package dungeon;
 
+import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.ComponentOrientation;
 import java.awt.Dimension;
 import java.awt.Font;
-import java.awt.Graphics;
-import java.awt.GridBagConstraints;
-import java.awt.GridBagLayout;
 import java.awt.GridLayout;
-import java.awt.Image;
 import java.awt.Rectangle;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import javax.imageio.ImageIO;
+import java.util.function.ToIntFunction;
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
 import javax.swing.ImageIcon;
@@ -34,16 +27,18 @@ import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JSpinner;
 import javax.swing.JTextArea;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
 import javax.swing.border.BevelBorder;
 import javax.swing.border.EtchedBorder;
 
-import randomizer.GameRandomizer;
+import randomizer.SeededRandomizer;
 
 
 /**
@@ -51,14 +46,14 @@ import randomizer.GameRandomizer;
  * visual interface for users.
  */
 public class DungeonGraphicalView extends JFrame implements DungeonView {
-
   private final JMenuBar menuBar;
   private final JMenu menu;
   private final JMenuItem newGame;
   private final JMenuItem restartSameDungeon;
   private final JMenuItem quit;
   private final JPanel parentPanel;
-  private final JPanel dungeonPanel;
+  private final DungeonCanvas dungeonCanvas;
+  private final DungeonMinimap minimap;
   private final JTextArea messages;
   private final JDialog newGameDialog;
   private final JLabel locationArrows;
@@ -72,9 +67,19 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
   private final JLabel locationDesc;
   private final JMenuItem restartSameConfig;
   private final JMenuItem help;
+  private final JMenuItem showLatency;
+  private final JMenuItem saveLatency;
   private final JScrollPane pane;
+  private final JDialog progressDialog;
+  private final JLabel progressMessage;
+  private Runnable progressCancel;
+  private final SpriteCache sprites;
+  private final DungeonListener changeListener;
   private DungeonGraphicalController listener;
+  //Only used on the thread running the actions of the dungeon.
   private ReadOnlyDungeon dungeon;
+  //The state of the dungeon after the last action, only used on the event dispatch thread.
+  private DungeonSnapshot snapshot;
 
   /**
    * Creates a new instance of graphical user interface for the Dungeon game.
@@ -83,13 +88,20 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
     menuBar = new JMenuBar();
     menu = new JMenu("Menu");
     this.listener = null;
+    sprites = new SpriteCache();
+    loadSprites();
     newGameDialog = new JDialog(this);
+    progressDialog = new JDialog(this, "Please wait");
+    progressMessage = new JLabel("", JLabel.CENTER);
+    progressCancel = null;
     // create menu items
     newGame = new JMenuItem(MenuItems.NEW_GAME.getText());
     restartSameDungeon = new JMenuItem(MenuItems.RESTART.getText());
     restartSameConfig = new JMenuItem(MenuItems.RESTART_CONFIG.getText());
     help = new JMenuItem(MenuItems.HELP.getText());
     quit = new JMenuItem(MenuItems.QUIT.getText());
+    showLatency = new JMenuItem(MenuItems.SHOW_LATENCY.getText());
+    saveLatency = new JMenuItem(MenuItems.SAVE_LATENCY.getText());
     parentPanel = new JPanel();
     parentPanel.setLayout(new BoxLayout(parentPanel, BoxLayout.Y_AXIS));
     locationArrows = new JLabel("0",
@@ -112,8 +124,17 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
             30, 30),
             JLabel.CENTER);
     messages = new JTextArea();
-    dungeonPanel = new JPanel();
-    pane = new JScrollPane(dungeonPanel);
+    dungeonCanvas = new DungeonCanvas(sprites);
+    pane = new JScrollPane(dungeonCanvas);
+    minimap = new DungeonMinimap();
+    changeListener = change -> {
+      DungeonSnapshot changed = DungeonSnapshot.of(dungeon, change.getCellChanges());
+      SwingUtilities.invokeLater(() -> {
+        snapshot = changed;
+        dungeonCanvas.update(changed);
+        minimap.update(changed);
+      });
+    };
     setUpUserInterface();
   }
 
@@ -129,48 +150,56 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
       throw new IllegalArgumentException("Please provide a valid listener");
     }
     this.listener = listener;
-    dungeonPanel.addMouseListener(new MouseAdapter() {
+    dungeonCanvas.addMouseListener(new MouseAdapter() {
       @Override
       public void mouseClicked(MouseEvent e) {
         super.mouseClicked(e);
+        int row = dungeonCanvas.getRowAt(e.getY());
+        int column = dungeonCanvas.getColumnAt(e.getX());
+        if (row < 0 || column < 0) {
+          return;
+        }
         try {
-          CustomDungeonGridLabel clickedLocation =
-                  (CustomDungeonGridLabel) dungeonPanel.getComponentAt(e.getPoint());
-          Move move = convertClickToMove(clickedLocation.getXCoord(), clickedLocation.getYCoord());
-          listener.handleCellClick(move);
-        } catch (ClassCastException | IllegalArgumentException exception) {
+          listener.handleCellClick(convertClickToMove(column, row));
+        } catch (IllegalArgumentException exception) {
           //Do nothing
         }
       }
     });
-    dungeonPanel.addKeyListener(listener);
+    dungeonCanvas.addKeyListener(listener);
     newGame.addActionListener(listener);
     restartSameDungeon.addActionListener(listener);
     restartSameConfig.addActionListener(listener);
     help.addActionListener(listener);
     quit.addActionListener(listener);
+    showLatency.addActionListener(listener);
+    saveLatency.addActionListener(listener);
   }
 
   /**
-   * Refresh the view to reflect any changes in the game state.
+   * Refresh the view to reflect any changes in the game state. Only the visible cells that changed
+   * since the last refresh are drawn again.
    */
   @Override
   public void refresh() {
+    if (snapshot == null) {
+      return;
+    }
     renderDungeon();
-    boolean gameOver = dungeon.isGameOver();
+    boolean gameOver = snapshot.isGameOver();
     if (gameOver) {
       StringBuilder appendable = new StringBuilder();
-      if (dungeon.isPlayerDead()) {
+      if (snapshot.isPlayerDead()) {
         appendable.append("Game has ended!");
         appendable.append(
                 "\nYOU LOSE!!!!\nYou were killed. You died a gruesome death at the hands of the "
                         + "Otyugh");
-      } else if (dungeon.playerVisitedEnd()) {
+      } else if (snapshot.playerVisitedEnd()) {
         appendable.append("YOU WIN!!!!\nYou have escaped the mines of Moria");
       }
       showMessage(appendable.toString());
     }
-    dungeonPanel.requestFocusInWindow();
+    dungeonCanvas.requestFocusInWindow();
   }
 
   /**
@@ -185,7 +214,7 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
       throw new IllegalArgumentException("Message cannot be null");
     }
     messages.setText(message);
-    dungeonPanel.requestFocusInWindow();
+    dungeonCanvas.requestFocusInWindow();
   }
 
   /**
@@ -198,7 +227,10 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
   }
 
   /**
-   * Set the source model of game state for this view.
+   * Set the source model of game state for this view. The view listens to the model for the
+   * cells changed by every action until another source is set. Must be called on the thread
+   * running the actions of the dungeon: the view only reads the dungeon on that thread and hands
+   * a snapshot of it after every action to the event dispatch thread.
    *
    * @param dungeon the source model that represents game state.
    * @throws IllegalArgumentException if provided model is null.
@@ -208,7 +240,17 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
     if (dungeon == null) {
       throw new IllegalArgumentException("Dungeon model cannot be null");
     }
+    if (this.dungeon != null) {
+      this.dungeon.removeDungeonListener(changeListener);
+    }
     this.dungeon = dungeon;
+    DungeonSnapshot full = DungeonSnapshot.of(dungeon);
+    dungeon.addDungeonListener(changeListener);
+    SwingUtilities.invokeLater(() -> {
+      snapshot = full;
+      dungeonCanvas.setDungeon(full);
+      minimap.setDungeon(full);
+    });
   }
 
   /**
@@ -261,7 +303,8 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
                 wrapped.isSelected(),
                 (Integer) interconnectivity.getValue(),
                 (Integer) treasureAndArrowPercentage.getValue(),
-                (Integer) numberOfMonsters.getValue(), new GameRandomizer());
+                (Integer) numberOfMonsters.getValue(),
+                new SeededRandomizer(System.nanoTime()));
         newGameDialog.dispose();
       } catch (IllegalArgumentException iae) {
         messages.setText(iae.getMessage());
@@ -298,6 +341,35 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
             + "+ arrow key' to shoot in that direction");
   }
 
+  /**
+   * Shows a dialog with the message and a progress bar until {@link #hideProgress()} is called.
+   * The dialog has a button to cancel the work.
+   *
+   * @param message what the game is busy with.
+   * @param cancel  run on the event dispatch thread when the user cancels.
+   * @throws IllegalArgumentException if message or cancel is null.
+   */
+  @Override
+  public void showProgress(String message, Runnable cancel) throws IllegalArgumentException {
+    if (message == null || cancel == null) {
+      throw new IllegalArgumentException("Message and cancel cannot be null");
+    }
+    progressMessage.setText(message);
+    progressCancel = cancel;
+    progressDialog.setLocationRelativeTo(parentPanel);
+    progressDialog.setVisible(true);
+  }
+
+  /**
+   * Hides the progress dialog.
+   */
+  @Override
+  public void hideProgress() {
+    progressCancel = null;
+    progressDialog.setVisible(false);
+    dungeonCanvas.requestFocusInWindow();
+  }
+
   private void setUpUserInterface() {
     // add menu items to menu
     menu.add(newGame);
@@ -307,6 +379,13 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
     menu.add(quit);
     // add menu to menu bar
     menuBar.add(menu);
+    // the debug menu is only shown when the game is run with -Ddungeon.debug=true
+    if (Boolean.getBoolean("dungeon.debug")) {
+      JMenu debug = new JMenu("Debug");
+      debug.add(showLatency);
+      debug.add(saveLatency);
+      menuBar.add(debug);
+    }
     // add menubar to frame
     setJMenuBar(menuBar);
     // set the size of the frame
@@ -314,11 +393,14 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
     setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
     createInfoPanel();
     createMessagesPanel();
-    dungeonPanel.setComponentOrientation(ComponentOrientation.LEFT_TO_RIGHT);
-    dungeonPanel.setBackground(Color.ORANGE);
-    dungeonPanel.setFocusable(true);
+    createProgressDialog();
+    dungeonCanvas.setComponentOrientation(ComponentOrientation.LEFT_TO_RIGHT);
+    dungeonCanvas.setBackground(Color.ORANGE);
+    dungeonCanvas.setFocusable(true);
+    pane.getHorizontalScrollBar().setUnitIncrement(DungeonCanvas.CELL_SIZE);
+    pane.getVerticalScrollBar().setUnitIncrement(DungeonCanvas.CELL_SIZE);
     pane.setInputMap(JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT, new InputMap());
-    parentPanel.add(pane);
+    createMinimap();
     this.add(parentPanel);
     try {
       UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -328,6 +410,54 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
     }
   }
 
+  private void createMinimap() {
+    minimap.setBackground(Color.DARK_GRAY);
+    minimap.addMouseListener(new MouseAdapter() {
+      @Override
+      public void mouseClicked(MouseEvent e) {
+        super.mouseClicked(e);
+        int row = minimap.getRowAt(e.getY());
+        int column = minimap.getColumnAt(e.getX());
+        if (row < 0 || column < 0) {
+          return;
+        }
+        // center the clicked cell in the dungeon view
+        Rectangle visible = dungeonCanvas.getVisibleRect();
+        Rectangle cell = dungeonCanvas.getCellBounds(row, column);
+        visible.setLocation(cell.x + (cell.width - visible.width) / 2,
+                cell.y + (cell.height - visible.height) / 2);
+        dungeonCanvas.scrollRectToVisible(visible);
+        dungeonCanvas.requestFocusInWindow();
+      }
+    });
+    JPanel minimapPanel = new JPanel(new BorderLayout());
+    minimapPanel.setBorder(BorderFactory.createEtchedBorder(EtchedBorder.RAISED));
+    minimapPanel.add(minimap, BorderLayout.NORTH);
+    JPanel gamePanel = new JPanel(new BorderLayout());
+    gamePanel.add(pane, BorderLayout.CENTER);
+    gamePanel.add(minimapPanel, BorderLayout.EAST);
+    parentPanel.add(gamePanel);
+  }
+
+  private void createProgressDialog() {
+    JProgressBar progressBar = new JProgressBar();
+    progressBar.setIndeterminate(true);
+    JButton cancelButton = new JButton("Cancel");
+    cancelButton.addActionListener(e -> {
+      if (progressCancel != null) {
+        progressCancel.run();
+      }
+    });
+    JPanel progressPanel = new JPanel(new GridLayout(3, 1, 10, 10));
+    progressPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+    progressPanel.add(progressMessage);
+    progressPanel.add(progressBar);
+    progressPanel.add(cancelButton);
+    progressDialog.add(progressPanel);
+    progressDialog.setSize(300, 150);
+    progressDialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+  }
+
   private void createMessagesPanel() {
     messages.setMaximumSize(new Dimension(800, 100));
     messages.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 10));
@@ -341,30 +471,49 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
     parentPanel.add(messagesPanel);
   }
 
-  private ImageIcon getImageIcon(String path) {
-    if (path == null) {
-      return null;
+  private void loadSprites() {
+    for (String path : DungeonCanvas.CELL_IMAGES) {
+      loadSprite(path, 0, 0);
+      loadSprite(path, 30, 30);
+    }
+    for (String path : new String[]{"/blank.png", "/otyugh.png", "/stench01.png",
+        "/stench02.png", "/arrow-white.png", "/diamond.png", "/emerald.png", "/ruby.png"}) {
+      loadSprite(path, 0, 0);
+    }
+    for (String path : new String[]{"/diamond.png", "/emerald.png", "/ruby.png"}) {
+      loadSprite(path, 15, 15);
     }
+    loadSprite("/player.png", 30, 30);
+    loadSprite("/arrow-white.png", 20, 2);
+  }
+
+  //Loads the image at its own size when sizeX is 0, otherwise scaled to the provided size.
+  private void loadSprite(String path, int sizeX, int sizeY) {
     try {
-      return new ImageIcon(ImageIO.read(Objects.requireNonNull(
-              getClass().getResourceAsStream(path))));
-    } catch (IOException exception) {
-      return null;
+      if (sizeX == 0) {
+        sprites.load(path);
+      } else {
+        sprites.load(path, sizeX, sizeY);
+      }
+    } catch (IOException | IllegalArgumentException exception) {
+      //Do nothing
     }
   }
 
-  private ImageIcon getResizedImageIcon(String path, int sizeX, int sizeY) {
-    if (path == null) {
+  private ImageIcon getImageIcon(String path) {
+    BufferedImage image = sprites.get(path);
+    if (image == null) {
       return null;
     }
-    try {
-      BufferedImage overlay = ImageIO.read(Objects.requireNonNull(
-              getClass().getResourceAsStream(path)));
-      Image tmp = overlay.getScaledInstance(sizeX, sizeY, Image.SCALE_SMOOTH);
-      return new ImageIcon(tmp);
-    } catch (IOException exception) {
+    return new ImageIcon(image);
+  }
+
+  private ImageIcon getResizedImageIcon(String path, int sizeX, int sizeY) {
+    BufferedImage image = sprites.get(path, sizeX, sizeY);
+    if (image == null) {
       return null;
     }
+    return new ImageIcon(image);
   }
 
   private void createInfoPanel() {
@@ -402,194 +551,52 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
   }
 
   private void renderDungeon() {
-    dungeonPanel.removeAll();
-    try {
-      updatePlayerDescription();
-      Rectangle rectangle = visualizeDungeon(dungeon);
-      dungeonPanel.scrollRectToVisible(rectangle);
-    } catch (IOException | IllegalArgumentException e) {
-      //Do nothing
-    }
-    parentPanel.repaint();
-  }
-
-  private BufferedImage overlay(BufferedImage starting, String path, int offset) throws
-          IOException, IllegalArgumentException {
-    if (starting == null) {
-      throw new IllegalArgumentException("Starting image cannot be null");
-    }
-    if (path == null) {
-      return starting;
-    }
-    BufferedImage overlay = ImageIO.read(Objects.requireNonNull(
-            getClass().getResourceAsStream(path)));
-    int w = Math.max(starting.getWidth(), overlay.getWidth());
-    int h = Math.max(starting.getHeight(), overlay.getHeight());
-    BufferedImage combined = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-    Graphics g = combined.getGraphics();
-    g.drawImage(starting, 0, 0, null);
-    g.drawImage(overlay, offset, offset, null);
-    return combined;
-  }
-
-  private BufferedImage overlay(BufferedImage starting, String path, int offsetX, int offsetY,
-                                int sizeX, int sizeY) throws
-          IOException, IllegalArgumentException {
-    if (starting == null) {
-      throw new IllegalArgumentException("Starting image cannot be null");
-    }
-    if (path == null) {
-      return starting;
-    }
-    BufferedImage overlay = ImageIO.read(Objects.requireNonNull(
-            getClass().getResourceAsStream(path)));
-    Image tmp = overlay.getScaledInstance(sizeX, sizeY, Image.SCALE_SMOOTH);
-    int w = starting.getWidth();
-    int h = starting.getHeight();
-    BufferedImage combined = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-    Graphics g = combined.getGraphics();
-    g.drawImage(starting, 0, 0, null);
-    g.drawImage(tmp, offsetX, offsetY, null);
-    return combined;
-  }
-
-  private Rectangle visualizeDungeon(ReadOnlyDungeon dungeon) throws IOException,
-          IllegalArgumentException {
-    if (dungeon == null) {
-      throw new IllegalArgumentException("Dungeon cannot be null");
-    }
-    Location playerCurrentLocation = dungeon.getPlayerCurrentLocation();
-    updateLocationDescription(playerCurrentLocation);
-    dungeonPanel.setLayout(new GridBagLayout());
-    GridBagConstraints gridBagConstraints = new GridBagConstraints();
-    gridBagConstraints.fill = GridBagConstraints.NONE;
-    int row = -1;
-    int column;
-    Rectangle bounds = null;
-    List<List<Location>> maze = dungeon.getMaze();
-    for (List<Location> list : maze) {
-      row++;
-      column = -1;
-      for (Location locationNode : list) {
-        column++;
-        CustomDungeonGridLabel label = new CustomDungeonGridLabel();
-        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
-        if (locationNode.isExplored()) {
-          Set<Move> nextMoves = locationNode.getNextMoves();
-          StringBuilder fileName = new StringBuilder("/color-cells/");
-          for (Move move : nextMoves) {
-            fileName.append(move.getShortForm());
-          }
-          fileName.append(".png");
-          image = overlay(image, fileName.toString(), 0);
-          if (compareLocations(playerCurrentLocation, locationNode)) {
-            image = overlay(image, "/player.png", 16, 16, 30, 30);
-          }
-          if (locationNode.hasArrows()) {
-            image = overlay(image, "/arrow-white.png", 5, 30, 20, 2);
-          }
-          if (locationNode.hasTreasure()) {
-            Map<Treasure, Integer> treasure = locationNode.getTreasure();
-            for (Treasure treasureItem : treasure.keySet()) {
-              StringBuilder treasureFileName = new StringBuilder("/");
-              int xOffset = 10;
-              switch (treasureItem) {
-                case DIAMONDS:
-                  treasureFileName.append("diamond");
-                  break;
-                case SAPPHIRES:
-                  treasureFileName.append("emerald");
-                  xOffset = 25;
-                  break;
-                case RUBIES:
-                  treasureFileName.append("ruby");
-                  xOffset = 40;
-                  break;
-                default:
-                  //Do nothing
-                  break;
-              }
-              treasureFileName.append(".png");
-              image = overlay(image, treasureFileName.toString(), xOffset, 5, 15, 15);
-            }
-          }
-          if (locationNode.hasMonster()) {
-            image = overlay(image, "/otyugh.png", 0);
-          } else {
-            switch (dungeon.getSmell(locationNode)) {
-              case LESS:
-                image = overlay(image, "/stench01.png", 0);
-                break;
-              case MORE:
-                image = overlay(image, "/stench02.png", 0);
-                break;
-              default:
-                break;
-            }
-          }
-        } else {
-          image = overlay(image, "/blank.png", 0);
-        }
-        label.setIcon(new ImageIcon(image));
-        label.setBorder(BorderFactory.createEmptyBorder());
-        label.setSize(64, 64);
-        label.setBackground(Color.CYAN);
-        gridBagConstraints.gridy = row;
-        gridBagConstraints.gridx = column;
-        label.setXCoord(column);
-        label.setYCoord(row);
-        dungeonPanel.add(label, gridBagConstraints);
-        if (compareLocations(playerCurrentLocation, locationNode)) {
-          bounds = new Rectangle(column * 64, row * 64, column * 20, row * 20);
-        }
-      }
-    }
-    return bounds;
+    updatePlayerDescription();
+    updateLocationDescription();
+    int playerCell = snapshot.getPlayerCell();
+    dungeonCanvas.scrollRectToVisible(dungeonCanvas.getCellBounds(
+            playerCell / snapshot.columns(), playerCell % snapshot.columns()));
   }
 
-  private void updateLocationDescription(Location playerCurrentLocation) {
-    if (playerCurrentLocation != null) {
-      Set<Move> nextMoves = playerCurrentLocation.getNextMoves();
-      StringBuilder fileName = new StringBuilder("/color-cells/");
-      for (Move move : nextMoves) {
-        fileName.append(move.getShortForm());
-      }
-      fileName.append(".png");
-      locationDesc.setIcon(getResizedImageIcon(fileName.toString(), 30, 30));
-      String resetValue = "0";
-      locationArrows.setText(resetValue);
-      locationDiamond.setText(resetValue);
-      locationSapphire.setText(resetValue);
-      locationRuby.setText(resetValue);
-      if (playerCurrentLocation.hasArrows()) {
-        locationArrows.setText(String.valueOf(playerCurrentLocation.getArrows()));
-      }
-      updateTreasureDescription(playerCurrentLocation.hasTreasure(),
-              playerCurrentLocation.getTreasure(), locationDiamond, locationSapphire, locationRuby);
+  private void updateLocationDescription() {
+    locationDesc.setIcon(getResizedImageIcon(
+            DungeonCanvas.CELL_IMAGES[snapshot.getLocationMoveMask()], 30, 30));
+    String resetValue = "0";
+    locationArrows.setText(resetValue);
+    locationDiamond.setText(resetValue);
+    locationSapphire.setText(resetValue);
+    locationRuby.setText(resetValue);
+    if (snapshot.getLocationArrows() > 0) {
+      locationArrows.setText(String.valueOf(snapshot.getLocationArrows()));
     }
+    updateTreasureDescription(true, snapshot::getLocationTreasure, locationDiamond,
+            locationSapphire, locationRuby);
   }
 
   private void updatePlayerDescription() {
-    Player playerDescription = dungeon.getPlayerDescription();
-    playerArrows.setText(String.valueOf(playerDescription.getArrows()));
-    updateTreasureDescription(playerDescription.hasTreasure(), playerDescription.getTreasure(),
-            playerDiamond, playerSapphire, playerRuby);
+    playerArrows.setText(String.valueOf(snapshot.getPlayerArrows()));
+    updateTreasureDescription(true, snapshot::getPlayerTreasure, playerDiamond, playerSapphire,
+            playerRuby);
   }
 
-  private void updateTreasureDescription(boolean b, Map<Treasure, Integer> treasure,
+  private void updateTreasureDescription(boolean b, ToIntFunction<Treasure> treasureCount,
                                          JLabel diamond, JLabel sapphire, JLabel ruby) {
-    if (treasure != null && diamond != null && sapphire != null && ruby != null) {
+    if (treasureCount != null && diamond != null && sapphire != null && ruby != null) {
       if (b) {
-        for (Treasure treasureItem : treasure.keySet()) {
+        for (Treasure treasureItem : Treasure.values()) {
+          int count = treasureCount.applyAsInt(treasureItem);
+          if (count == 0) {
+            continue;
+          }
           switch (treasureItem) {
             case DIAMONDS:
-              diamond.setText(String.valueOf(treasure.get(treasureItem)));
+              diamond.setText(String.valueOf(count));
               break;
             case SAPPHIRES:
-              sapphire.setText(String.valueOf(treasure.get(treasureItem)));
+              sapphire.setText(String.valueOf(count));
               break;
             case RUBIES:
-              ruby.setText(String.valueOf(treasure.get(treasureItem)));
+              ruby.setText(String.valueOf(count));
               break;
             default:
               //Do nothing
@@ -600,85 +607,15 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
     }
   }
 
-  private StringBuilder visualizeKruskals(ReadOnlyDungeon dungeon) {
-    if (dungeon == null) {
-      return new StringBuilder();
-    }
-    List<List<Location>> maze = dungeon.getMaze();
-    Location startLocation = dungeon.getStartLocation();
-    Location endLocation = dungeon.getEndLocation();
-    Location playerCurrentLocation = dungeon.getPlayerCurrentLocation();
-    StringBuilder sb = new StringBuilder();
-    int count = 0;
-    for (List<Location> list : maze) {
-      sb.append("\n");
-      for (Location locationNode : list) {
-        Set<Move> nextMoves = locationNode.getNextMoves();
-        if (nextMoves.contains(Move.NORTH)) {
-          sb.append("|");
-          count++;
-        } else {
-          sb.append(" ");
-        }
-        sb.append("  ");
-      }
-      sb.append("\n");
-      for (Location locationNode : list) {
-        if (compareLocations(startLocation, locationNode)
-                && compareLocations(playerCurrentLocation, locationNode)) {
-          sb.append("$");
-        } else if (compareLocations(startLocation, locationNode)) {
-          sb.append("S");
-        } else if (compareLocations(endLocation, locationNode)
-                && compareLocations(playerCurrentLocation, locationNode)) {
-          if (locationNode.hasMonster()) {
-            sb.append("M");
-          } else {
-            sb.append("*");
-          }
-        } else if (compareLocations(playerCurrentLocation, locationNode)) {
-          sb.append("P");
-        } else if (compareLocations(endLocation, locationNode)) {
-          sb.append("X");
-        }
-        if (locationNode.hasMonster()) {
-          sb.append("M");
-        } else {
-          switch (dungeon.getSmell(locationNode)) {
-            case NONE:
-              sb.append(0);
-              break;
-            case LESS:
-              sb.append(1);
-              break;
-            case MORE:
-              sb.append(2);
-              break;
-            default:
-              sb.append("N");
-          }
-        }
-        Set<Move> nextMoves = locationNode.getNextMoves();
-        if (nextMoves.contains(Move.EAST)) {
-          sb.append("--");
-          count++;
-        } else {
-          sb.append("  ");
-        }
-      }
-    }
-    sb.append("\n\nNumber of edges: ").append(count);
-    return sb;
-  }
-
   private Move convertClickToMove(int x, int y) {
-    Location playerCurrentLocation = dungeon.getPlayerCurrentLocation();
-    List<List<Location>> maze = dungeon.getMaze();
-    int mazeRows = maze.size();
-    int mazeColumns = maze.get(0).size();
-    int row = playerCurrentLocation.getRow();
+    if (snapshot == null) {
+      return null;
+    }
+    int mazeRows = snapshot.rows();
+    int mazeColumns = snapshot.columns();
+    int row = snapshot.getPlayerCell() / mazeColumns;
     Move move = null;
-    int column = playerCurrentLocation.getColumn();
+    int column = snapshot.getPlayerCell() % mazeColumns;
     if (row == y) {
       if (column - x == -1 || column - x == mazeColumns - 1) {
         move = Move.EAST;
@@ -697,13 +634,4 @@ public class DungeonGraphicalView extends JFrame implements DungeonView {
     }
     return move;
   }
-
-  private boolean compareLocations(Location locationA, Location locationB)
-          throws IllegalArgumentException {
-    if (locationA == null || locationB == null) {
-      throw new IllegalArgumentException("Location cannot be null");
-    }
-    return locationA.getRow() == locationB.getRow()
-            && locationA.getColumn() == locationB.getColumn();
-  }
 }
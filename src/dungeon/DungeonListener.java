@@ -0,0 +1,14 @@
+package dungeon;
+
+/**
+ * Represents a listener that is told about the changes made to a dungeon.
+ */
+public interface DungeonListener {
+
+  /**
+   * Called once after every action that changed the dungeon.
+   *
+   * @param change everything the action changed.
+   */
+  void dungeonChanged(DungeonChange change);
+}
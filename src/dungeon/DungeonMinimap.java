@@ -0,0 +1,203 @@
+package dungeon;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import javax.swing.JComponent;
+
+/**
+ * Shows an overview of the whole dungeon with one pixel per cell, scaled to fit a square of
+ * MAX_SIZE pixels. The pixels are kept in a single image and written straight into its data
+ * buffer from {@link DungeonSnapshot}s, so updating a cell only writes its pixel and repaints the
+ * area around it. The player, start and end are also drawn as markers of at least MARKER_SIZE
+ * pixels so they stay visible when a large dungeon is scaled down.
+ */
+//package-private class
+class DungeonMinimap extends JComponent {
+  private static final long serialVersionUID = 1L;
+  static final int MAX_SIZE = 200;
+  private static final int MAX_CELL_SIZE = 8;
+  private static final int MARKER_SIZE = 4;
+  private static final int UNEXPLORED = 0x303030;
+  private static final int EXPLORED = 0xE0C890;
+  private static final int PLAYER = 0xE02020;
+  private static final int START = 0x20B020;
+  private static final int END = 0x2040E0;
+
+  private BufferedImage image;
+  private int[] pixels;
+  private int rows;
+  private int columns;
+  private double scale;
+  private int startCell;
+  private int endCell;
+  private int playerCell;
+
+  /**
+   * Creates an empty minimap.
+   */
+  DungeonMinimap() {
+    this.image = null;
+    this.pixels = null;
+    this.rows = 0;
+    this.columns = 0;
+    this.scale = 1;
+    setOpaque(true);
+  }
+
+  /**
+   * Sets the dungeon to show and draws every cell of it.
+   *
+   * @param snapshot a snapshot of every cell of the dungeon.
+   * @throws IllegalArgumentException if snapshot is null or does not hold every cell.
+   */
+  void setDungeon(DungeonSnapshot snapshot) throws IllegalArgumentException {
+    if (snapshot == null || !snapshot.hasEveryCell()) {
+      throw new IllegalArgumentException("Please provide a snapshot of every cell");
+    }
+    rows = snapshot.rows();
+    columns = snapshot.columns();
+    if (image == null || image.getWidth() != columns || image.getHeight() != rows) {
+      image = new BufferedImage(columns, rows, BufferedImage.TYPE_INT_RGB);
+      pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+    scale = Math.min(MAX_CELL_SIZE, (double) MAX_SIZE / Math.max(rows, columns));
+    startCell = snapshot.getStartCell();
+    endCell = snapshot.getEndCell();
+    playerCell = snapshot.getPlayerCell();
+    for (int cell = 0; cell < pixels.length; cell++) {
+      pixels[cell] = getColor(cell, snapshot.getCode(cell));
+    }
+    revalidate();
+    repaint();
+  }
+
+  /**
+   * Draws the cells in the snapshot again and moves the player marker. The cell the player left
+   * is one of the changed cells of the snapshot.
+   *
+   * @param snapshot a snapshot of the changed cells of the dungeon that was set.
+   * @throws IllegalArgumentException if snapshot is null or of another dungeon.
+   */
+  void update(DungeonSnapshot snapshot) throws IllegalArgumentException {
+    if (snapshot == null || snapshot.rows() != rows || snapshot.columns() != columns) {
+      throw new IllegalArgumentException("Please provide a snapshot of the dungeon");
+    }
+    if (snapshot.getPlayerCell() != playerCell) {
+      repaint(getMarkerBounds(playerCell));
+      playerCell = snapshot.getPlayerCell();
+    }
+    for (int i = 0; i < snapshot.getCellCount(); i++) {
+      int cell = snapshot.getCell(i);
+      pixels[cell] = getColor(cell, snapshot.getCode(i));
+      repaint(getMarkerBounds(cell));
+    }
+  }
+
+  /**
+   * Returns the row of the cell at the provided y coordinate of the minimap.
+   *
+   * @param y the y coordinate.
+   * @return the row or -1 if there is no cell at that coordinate.
+   */
+  int getRowAt(int y) {
+    if (image == null || y < 0) {
+      return -1;
+    }
+    int row = (int) (y / scale);
+    return row < rows ? row : -1;
+  }
+
+  /**
+   * Returns the column of the cell at the provided x coordinate of the minimap.
+   *
+   * @param x the x coordinate.
+   * @return the column or -1 if there is no cell at that coordinate.
+   */
+  int getColumnAt(int x) {
+    if (image == null || x < 0) {
+      return -1;
+    }
+    int column = (int) (x / scale);
+    return column < columns ? column : -1;
+  }
+
+  /**
+   * Returns the color shown for the cell at the provided row and column.
+   *
+   * @param row    the row of the cell.
+   * @param column the column of the cell.
+   * @return the RGB color of the cell.
+   */
+  int getPixel(int row, int column) {
+    return pixels[row * columns + column];
+  }
+
+  @Override
+  public Dimension getPreferredSize() {
+    if (image == null || isPreferredSizeSet()) {
+      return super.getPreferredSize();
+    }
+    return new Dimension((int) Math.ceil(columns * scale), (int) Math.ceil(rows * scale));
+  }
+
+  @Override
+  public Dimension getMaximumSize() {
+    return getPreferredSize();
+  }
+
+  @Override
+  protected void paintComponent(Graphics graphics) {
+    graphics.setColor(getBackground());
+    Rectangle area = graphics.getClipBounds();
+    if (area == null) {
+      area = new Rectangle(0, 0, getWidth(), getHeight());
+    }
+    graphics.fillRect(area.x, area.y, area.width, area.height);
+    if (image == null) {
+      return;
+    }
+    Graphics2D scaled = (Graphics2D) graphics.create();
+    scaled.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+            RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    Dimension size = getPreferredSize();
+    scaled.drawImage(image, 0, 0, size.width, size.height, null);
+    scaled.dispose();
+    paintMarker(graphics, startCell, START);
+    paintMarker(graphics, endCell, END);
+    paintMarker(graphics, playerCell, PLAYER);
+  }
+
+  private void paintMarker(Graphics graphics, int cell, int color) {
+    Rectangle marker = getMarkerBounds(cell);
+    graphics.setColor(new Color(color));
+    graphics.fillRect(marker.x, marker.y, marker.width, marker.height);
+  }
+
+  //The area of the cell, grown to MARKER_SIZE around its center when a cell is smaller.
+  private Rectangle getMarkerBounds(int cell) {
+    int size = Math.max(MARKER_SIZE, (int) Math.ceil(scale));
+    int x = (int) ((cell % columns + 0.5) * scale) - size / 2;
+    int y = (int) ((cell / columns + 0.5) * scale) - size / 2;
+    return new Rectangle(x, y, size, size);
+  }
+
+  private int getColor(int cell, int code) {
+    if (cell == playerCell) {
+      return PLAYER;
+    }
+    if (cell == startCell) {
+      return START;
+    }
+    if (cell == endCell) {
+      return END;
+    }
+    //Only unexplored cells have the code 0.
+    return code != 0 ? EXPLORED : UNEXPLORED;
+  }
+}
@@ -1,15 +1,13 @@
 package dungeon;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
 
 import randomizer.Randomizer;
 
@@ -18,9 +16,13 @@ import randomizer.Randomizer;
  * It contains the player, maze, treasure and maintains game state.
  */
 public class DungeonModel implements Dungeon {
-  private final List<List<LocationPrivate>> maze;
+  private static final Move[] MOVES = Move.values();
+  private final MazeGrid maze;
   private final Randomizer randomizer;
   private final PlayerPrivate player;
+  private final boolean wrapped;
+  private byte[] smellField;
+  private boolean smellFieldShared;
   private int startX;
   private int startY;
   private int endX;
@@ -30,9 +32,15 @@ public class DungeonModel implements Dungeon {
   private boolean playerVisitedEnd;
   private boolean isGameOver;
   private boolean isPlayerDead;
+  //Null until a listener is registered and empty once they are all removed, actions only record
+  //their changes while it has listeners. Listeners can be added and removed from any thread, the
+  //changes are recorded and delivered on the thread running the action.
+  private volatile List<DungeonListener> listeners;
+  private List<CellChange> changedCells;
+  private Set<ChangeReason> changeReasons;
 
   /**
-   * Creates an instance of DungeonModel.
+   * Creates an instance of DungeonModel that stores every cell as a {@link LocationNode}.
    *
    * @param rows                       the number of rows in the dungeon maze.
    * @param columns                    the number of columns in the dungeon maze.
@@ -52,11 +60,79 @@ public class DungeonModel implements Dungeon {
   public DungeonModel(int rows, int columns, boolean wrapped,
                       int interconnectivity, int treasureAndArrowPercentage, int numberOfMonsters,
                       Randomizer randomizer) throws IllegalArgumentException {
-    validator(rows, columns, wrapped, interconnectivity, treasureAndArrowPercentage,
+    this(rows, columns, wrapped, interconnectivity, treasureAndArrowPercentage, numberOfMonsters,
+            randomizer, MazeStorage.NODES);
+  }
+
+  /**
+   * Creates an instance of DungeonModel using the provided storage for the maze cells.
+   *
+   * @param rows                       the number of rows in the dungeon maze.
+   * @param columns                    the number of columns in the dungeon maze.
+   * @param wrapped                    if the maze is wrapped around edges or not.
+   * @param interconnectivity          the interconnectivity.
+   * @param treasureAndArrowPercentage the percentage of caves that have treasure or arrows.
+   *                                   If percentage of nodes is decimal it
+   *                                   takes the lower bound number of nodes.
+   * @param numberOfMonsters           the number of monsters in the dungeon of caves.
+   * @param randomizer                 the game randomizer to use.
+   * @param storage                    how the cells of the maze are stored.
+   * @throws IllegalArgumentException if maze dimensions are less than 3x2.
+   * @throws IllegalArgumentException if randomizer or storage is null.
+   * @throws IllegalArgumentException if treasure percentage is negative or greater than 100.
+   * @throws IllegalArgumentException if interconnectivity is not between 0
+   *                                  and maximum possible interconnectivity.
+   */
+  public DungeonModel(int rows, int columns, boolean wrapped,
+                      int interconnectivity, int treasureAndArrowPercentage, int numberOfMonsters,
+                      Randomizer randomizer, MazeStorage storage) throws IllegalArgumentException {
+    this(rows, columns, wrapped, interconnectivity, treasureAndArrowPercentage, numberOfMonsters,
+            randomizer, storage, null);
+  }
+
+  /**
+   * Creates an instance of DungeonModel whose maze is generated in tiles on the provided pool.
+   * Each tile is connected separately and the tiles are then merged into a single maze.
+   * For the same randomizer values the dungeon is the same whatever the parallelism of the pool,
+   * but it is not the same dungeon as the one generated without a pool.
+   *
+   * @param rows                       the number of rows in the dungeon maze.
+   * @param columns                    the number of columns in the dungeon maze.
+   * @param wrapped                    if the maze is wrapped around edges or not.
+   * @param interconnectivity          the interconnectivity.
+   * @param treasureAndArrowPercentage the percentage of caves that have treasure or arrows.
+   *                                   If percentage of nodes is decimal it
+   *                                   takes the lower bound number of nodes.
+   * @param numberOfMonsters           the number of monsters in the dungeon of caves.
+   * @param randomizer                 the game randomizer to use.
+   * @param storage                    how the cells of the maze are stored.
+   * @param pool                       the pool the tiles of the maze are generated on,
+   *                                   null to generate the maze on the calling thread.
+   * @throws IllegalArgumentException if maze dimensions are less than 3x2.
+   * @throws IllegalArgumentException if randomizer or storage is null.
+   * @throws IllegalArgumentException if treasure percentage is negative or greater than 100.
+   * @throws IllegalArgumentException if interconnectivity is not between 0
+   *                                  and maximum possible interconnectivity.
+   */
+  public DungeonModel(int rows, int columns, boolean wrapped,
+                      int interconnectivity, int treasureAndArrowPercentage, int numberOfMonsters,
+                      Randomizer randomizer, MazeStorage storage, ForkJoinPool pool)
+          throws IllegalArgumentException {
+    validateConfig(rows, columns, wrapped, interconnectivity, treasureAndArrowPercentage,
             numberOfMonsters, randomizer);
+    if (storage == null) {
+      throw new IllegalArgumentException("Storage cannot be null");
+    }
     this.randomizer = randomizer;
-    this.maze = new ArrayList<>();
+    if (storage == MazeStorage.COMPACT) {
+      this.maze = new CompactMazeGrid(rows, columns);
+    } else {
+      this.maze = new NodeMazeGrid(rows, columns);
+    }
     this.player = new PlayerModel();
+    this.wrapped = wrapped;
+    this.smellField = new byte[rows * columns];
+    this.smellFieldShared = false;
     this.startX = -1;
     this.startY = -1;
     this.endX = -1;
@@ -67,19 +143,25 @@ public class DungeonModel implements Dungeon {
     this.isGameOver = false;
     this.isPlayerDead = false;
     buildDungeon(rows, columns, wrapped, interconnectivity, treasureAndArrowPercentage,
-            numberOfMonsters, randomizer);
+            numberOfMonsters, randomizer, pool);
   }
 
   /**
-   * Creates a deep copy of the provided dungeon with player at the start state.
+   * Creates a copy of the provided dungeon with player at the start state. The copy shares the
+   * maze with the provided dungeon and either of them only copies the rows or pages of cells it
+   * changes, so copying takes time in proportion to the rows or pages of the maze rather than its
+   * cells. The first copy of a dungeon stored as nodes also looks up its monsters once. Copying
+   * marks the state of the provided dungeon as shared, so it must not be used by another thread
+   * while it is copied.
    *
    * @param dungeon model to copy the size, start, end locations from.
    */
   public DungeonModel(Dungeon dungeon) {
     DungeonModel originalDungeon = (DungeonModel) dungeon;
     this.randomizer = originalDungeon.randomizer;
-    this.maze = new ArrayList<>();
+    this.maze = originalDungeon.maze.copy();
     this.player = new PlayerModel();
+    this.wrapped = originalDungeon.wrapped;
     this.startX = originalDungeon.startX;
     this.startY = originalDungeon.startY;
     this.endX = originalDungeon.endX;
@@ -89,13 +171,44 @@ public class DungeonModel implements Dungeon {
     this.playerVisitedEnd = false;
     this.isGameOver = false;
     this.isPlayerDead = false;
-    for (List<LocationPrivate> rows : originalDungeon.maze) {
-      List<LocationPrivate> row = new ArrayList<>();
-      for (LocationPrivate locationPrivate : rows) {
-        row.add(new LocationNode(locationPrivate));
-      }
-      this.maze.add(row);
+    //Living monsters stay where they are and dead ones are removed, so the smell is the same.
+    this.smellField = originalDungeon.smellField;
+    this.smellFieldShared = true;
+    originalDungeon.smellFieldShared = true;
+  }
+
+  /*
+   * Restores a saved game from its maze, player and positions. Cells are row * columns + column.
+   */
+  //package-private
+  DungeonModel(MazeGrid maze, boolean wrapped, int startCell, int endCell, int currentCell,
+               PlayerPrivate player, boolean playerVisitedEnd, boolean isPlayerDead,
+               Randomizer randomizer) throws IllegalArgumentException {
+    if (maze == null || player == null || randomizer == null) {
+      throw new IllegalArgumentException("Maze, player and randomizer cannot be null");
+    }
+    int columns = maze.getColumns();
+    int cells = maze.getRows() * columns;
+    if (startCell < 0 || startCell >= cells || endCell < 0 || endCell >= cells
+            || currentCell < 0 || currentCell >= cells) {
+      throw new IllegalArgumentException("Please provide valid start, end and current cells");
     }
+    this.maze = maze;
+    this.wrapped = wrapped;
+    this.randomizer = randomizer;
+    this.player = player;
+    this.startX = startCell / columns;
+    this.startY = startCell % columns;
+    this.endX = endCell / columns;
+    this.endY = endCell % columns;
+    this.currentX = currentCell / columns;
+    this.currentY = currentCell % columns;
+    this.playerVisitedEnd = playerVisitedEnd;
+    this.isPlayerDead = isPlayerDead;
+    this.isGameOver = playerVisitedEnd || isPlayerDead;
+    this.smellField = new byte[cells];
+    this.smellFieldShared = false;
+    buildSmellField();
   }
 
 
@@ -106,14 +219,79 @@ public class DungeonModel implements Dungeon {
    */
   @Override
   public List<List<Location>> getMaze() {
-    List<List<Location>> tmpMaze = new ArrayList<>();
-    for (List<LocationPrivate> yList : this.maze) {
-      List<Location> tmpList = new ArrayList<>(yList);
+    List<List<Location>> tmpMaze = new ArrayList<>(maze.getRows());
+    for (int x = 0; x < maze.getRows(); x++) {
+      List<Location> tmpList = new ArrayList<>(maze.getColumns());
+      for (int y = 0; y < maze.getColumns(); y++) {
+        tmpList.add(maze.getLocation(x, y));
+      }
       tmpMaze.add(tmpList);
     }
     return tmpMaze;
   }
 
+  /**
+   * Returns the number of rows in the maze of the dungeon.
+   *
+   * @return number of rows.
+   */
+  @Override
+  public int rows() {
+    return maze.getRows();
+  }
+
+  /**
+   * Returns the number of columns in the maze of the dungeon.
+   *
+   * @return number of columns.
+   */
+  @Override
+  public int columns() {
+    return maze.getColumns();
+  }
+
+  /**
+   * Returns the location at the provided row and column of the maze.
+   *
+   * @param row    the row of the location.
+   * @param column the column of the location.
+   * @return the {@link Location} at the row and column.
+   * @throws IllegalArgumentException if row or column is outside the maze.
+   */
+  @Override
+  public Location getLocation(int row, int column) throws IllegalArgumentException {
+    return maze.getLocation(row, column);
+  }
+
+  /**
+   * Returns a read only view of a row of the maze. The row is not copied, the locations are read
+   * from the maze as the view is accessed.
+   *
+   * @param row the row of the maze.
+   * @return the locations of the row as a List of {@link Location} ordered by column.
+   * @throws IllegalArgumentException if row is outside the maze.
+   */
+  @Override
+  public List<Location> getRow(int row) throws IllegalArgumentException {
+    if (row < 0 || row >= maze.getRows()) {
+      throw new IllegalArgumentException("Please provide a valid row");
+    }
+    return new AbstractList<Location>() {
+      @Override
+      public Location get(int column) {
+        if (column < 0 || column >= maze.getColumns()) {
+          throw new IndexOutOfBoundsException("Column " + column + " is outside the maze");
+        }
+        return maze.getLocation(row, column);
+      }
+
+      @Override
+      public int size() {
+        return maze.getColumns();
+      }
+    };
+  }
+
   /**
    * Returns the starting location/cave in the maze.
    *
@@ -121,7 +299,7 @@ public class DungeonModel implements Dungeon {
    */
   @Override
   public Location getStartLocation() {
-    return getLocation(startX, startY);
+    return maze.getLocation(startX, startY);
   }
 
   /**
@@ -131,7 +309,7 @@ public class DungeonModel implements Dungeon {
    */
   @Override
   public Location getEndLocation() {
-    return getLocation(endX, endY);
+    return maze.getLocation(endX, endY);
   }
 
   /**
@@ -141,7 +319,7 @@ public class DungeonModel implements Dungeon {
    */
   @Override
   public Location getPlayerCurrentLocation() {
-    return getLocation(currentX, currentY);
+    return maze.getLocation(currentX, currentY);
   }
 
   /**
@@ -151,7 +329,7 @@ public class DungeonModel implements Dungeon {
    */
   @Override
   public Set<Move> getAvailableDirections() {
-    return getLocation(currentX, currentY).getNextMoves();
+    return maze.getLocation(currentX, currentY).getNextMoves();
   }
 
   /**
@@ -190,14 +368,50 @@ public class DungeonModel implements Dungeon {
       throw new IllegalArgumentException("Provided move is not a valid move " + (move == null ? "" :
               move));
     }
-    LocationPrivate nextLocation = getNextLocation(getPlayerCurrentLocation(), move);
-    currentX = nextLocation.getRow();
-    currentY = nextLocation.getColumn();
-    LocationPrivate location = getLocation(currentX, currentY);
-    location.setExplored();
-    if (nextLocation.hasMonster()) {
-      Monster monster = nextLocation.getMonster();
-      if (!monster.isDead() && monster.isInjured()) {
+    step(move);
+    fireChanges();
+  }
+
+  /**
+   * Moves the player along the provided path in a single action. The player stops before the
+   * first move that is not valid from their location and after the move that ends the game.
+   * Listeners are notified once with the changes of every move made.
+   *
+   * @param path the moves to be executed in order.
+   * @return the number of moves made.
+   * @throws IllegalArgumentException if path is null.
+   * @throws IllegalStateException    if game is over and player is dead.
+   */
+  @Override
+  public int movePlayer(Move... path) throws IllegalArgumentException, IllegalStateException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null");
+    }
+    if (isGameOver() || isPlayerDead()) {
+      throw new IllegalStateException("Game has ended");
+    }
+    int moves = 0;
+    while (moves < path.length && !isGameOver() && !validateNextMove(path[moves])) {
+      step(path[moves]);
+      moves++;
+    }
+    fireChanges();
+    return moves;
+  }
+
+  //Moves the player to the next cell in a valid direction and records what changed.
+  private void step(Move move) {
+    int columns = maze.getColumns();
+    int currentCell = currentX * columns + currentY;
+    int nextCell = getNextCell(currentCell, move);
+    recordChange(currentCell, ChangeReason.PLAYER_LEFT);
+    recordChange(nextCell, ChangeReason.PLAYER_ENTERED);
+    currentX = nextCell / columns;
+    currentY = nextCell % columns;
+    maze.setExplored(nextCell);
+    int monsterHealth = maze.getMonsterHealth(nextCell);
+    if (monsterHealth > 0) {
+      if (monsterHealth != Otyugh.DEFAULT_HEALTH) {
         int chance = randomizer.getRandomValue(0, 1);
         if (chance == 1) {
           this.isPlayerDead = true;
@@ -211,6 +425,8 @@ public class DungeonModel implements Dungeon {
     }
     if (playerVisitedEnd || isPlayerDead) {
       isGameOver = true;
+      recordChange(isPlayerDead ? ChangeReason.PLAYER_KILLED : ChangeReason.END_REACHED);
+      recordChange(ChangeReason.GAME_OVER);
     }
   }
 
@@ -229,15 +445,12 @@ public class DungeonModel implements Dungeon {
     if (!playerCurrentLocation.hasTreasure()) {
       throw new IllegalStateException("Location has no treasure");
     }
-    LocationPrivate currentLocation = getLocation(playerCurrentLocation.getRow(),
+    LocationPrivate currentLocation = maze.getLocation(playerCurrentLocation.getRow(),
             playerCurrentLocation.getColumn());
-    Map<Treasure, Integer> currentLocationTreasure = playerCurrentLocation.getTreasure();
-    for (Treasure treasure : currentLocationTreasure.keySet()) {
-      Integer quantity = currentLocationTreasure.get(treasure);
-      player.addToTreasure(treasure, quantity);
-      currentLocation.pickTreasure(treasure, quantity);
-
-    }
+    player.addToTreasure(currentLocation.pickAllTreasure());
+    recordChange(currentX * maze.getColumns() + currentY, ChangeReason.TREASURE_PICKED);
+    recordChange(ChangeReason.PLAYER_INVENTORY);
+    fireChanges();
   }
 
   /**
@@ -265,8 +478,12 @@ public class DungeonModel implements Dungeon {
     if (location == null) {
       throw new IllegalArgumentException("Location cannot be null");
     }
-    int smell = getSmellHelper(location);
-    return SmellLevel.getSmellLevel(smell);
+    int row = location.getRow();
+    int column = location.getColumn();
+    if (row < 0 || column < 0 || row >= maze.getRows() || column >= maze.getColumns()) {
+      throw new IllegalArgumentException("Please provide valid coordinates");
+    }
+    return SmellLevel.getSmellLevel(smellField[row * maze.getColumns() + column]);
   }
 
   /**
@@ -294,7 +511,10 @@ public class DungeonModel implements Dungeon {
               + " location");
     }
     if (player.hasArrows()) {
-      return fireArrowHelper(direction, arrowDistance);
+      ArrowHitOutcome hit = fireArrowHelper(direction, arrowDistance);
+      recordChange(ChangeReason.PLAYER_INVENTORY);
+      fireChanges();
+      return hit;
     }
     throw new IllegalStateException("Player has no arrows");
   }
@@ -309,9 +529,45 @@ public class DungeonModel implements Dungeon {
     if (isGameOver() || isPlayerDead()) {
       throw new IllegalStateException("Game has ended");
     }
-    LocationPrivate playerCurrentLocation = getLocation(currentX, currentY);
+    LocationPrivate playerCurrentLocation = maze.getLocation(currentX, currentY);
     int arrows = playerCurrentLocation.pickArrows();
     player.pickArrows(arrows);
+    recordChange(currentX * maze.getColumns() + currentY, ChangeReason.ARROWS_PICKED);
+    recordChange(ChangeReason.PLAYER_INVENTORY);
+    fireChanges();
+  }
+
+  /**
+   * Registers a listener that is told about every change made to the dungeon by an action.
+   * The changes of an action are delivered once the action is complete.
+   *
+   * @param listener the listener to register.
+   * @throws IllegalArgumentException if listener is null.
+   */
+  @Override
+  public synchronized void addDungeonListener(DungeonListener listener)
+          throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null");
+    }
+    if (listeners == null) {
+      changedCells = new ArrayList<>();
+      changeReasons = EnumSet.noneOf(ChangeReason.class);
+      listeners = new CopyOnWriteArrayList<>();
+    }
+    listeners.add(listener);
+  }
+
+  /**
+   * Removes a registered listener. Nothing happens if the listener is not registered.
+   *
+   * @param listener the listener to remove.
+   */
+  @Override
+  public synchronized void removeDungeonListener(DungeonListener listener) {
+    if (listeners != null) {
+      listeners.remove(listener);
+    }
   }
 
   /**
@@ -328,161 +584,106 @@ public class DungeonModel implements Dungeon {
     if (randomizer == null) {
       throw new IllegalArgumentException("Please provide valid randomizer");
     }
+    int columns = maze.getColumns();
+    int totalCells = maze.getRows() * columns;
+    // Breadth first search buffers are shared by every attempt. A cell is seen in the current
+    // attempt when its stamp equals the attempt number, so a retry needs no clearing.
+    int[] queue = new int[totalCells];
+    int[] seenStamp = new int[totalCells];
+    int[] prospectiveEndCells = new int[totalCells];
+    int attempt = 0;
     boolean startEndSet = false;
-    List<LocationPrivate> allCaves = getAllCaves();
-    while (!startEndSet && !allCaves.isEmpty()) {
-      int randomIndex = randomizer.getRandomValue(0, allCaves.size() - 1);
-      Location startLocation = allCaves.remove(randomIndex);
-      startX = startLocation.getRow();
-      startY = startLocation.getColumn();
+    int[] allCaves = getAllCaveCells();
+    DrawTree remainingCaves = new DrawTree(allCaves.length);
+    while (!startEndSet && remainingCaves.remaining() > 0) {
+      int randomIndex = randomizer.getRandomValue(0, remainingCaves.remaining() - 1);
+      int startCell = allCaves[remainingCaves.draw(randomIndex)];
+      startX = startCell / columns;
+      startY = startCell % columns;
       updateCurrentPosition(startX, startY);
-      List<Location> locationStack = new LinkedList<>();//stack = util.Stack()
-      List<Location> visited = new ArrayList<>();//explored = []
-      Map<Location, List<Integer>> prospectiveEndNodes = new LinkedHashMap<>();
-      locationStack.add(startLocation);//stack.push((problem.getStartState(), [], 0))
+      attempt++;
+      int head = 0;
+      int tail = 0;
+      queue[tail++] = startX * columns + startY;
+      seenStamp[startX * columns + startY] = attempt;
+      // Path length is counted per level of the search. It increases once the last cell of a
+      // level has been visited, so that cell is counted with the following level.
       int pathLength = 0;
       int elementsToDepthIncrease = 1;
       int nextElementsToDepthIncrease = 0;
-      while (!locationStack.isEmpty()) {
-        List<LocationPrivate> allCavesList = getAllCaves();
-        LocationPrivate location = (LocationPrivate) locationStack.remove(0);
-        updateCurrentPosition(location.getRow(), location.getColumn());
-        Set<Move> locationNextMoves = location.getNextMoves();
-        for (Move move : locationNextMoves) {
-          Location childLocation = getNextLocation(getPlayerCurrentLocation(), move);
-          if (!visited.contains(childLocation) && !locationStack.contains(childLocation)) {
-            locationStack.add(childLocation);
+      int prospectiveEndCount = 0;
+      while (head < tail) {
+        int cell = queue[head++];
+        Set<Move> nextMoves = Move.fromMask(maze.getMoveMask(cell));
+        for (Move move : nextMoves) {
+          int childCell = getNextCell(cell, move);
+          if (seenStamp[childCell] != attempt) {
+            seenStamp[childCell] = attempt;
+            queue[tail++] = childCell;
             nextElementsToDepthIncrease++;
           }
         }
-        if (!visited.contains(location)) {
-          visited.add(location);
-          --elementsToDepthIncrease;
-          if (elementsToDepthIncrease == 0) {
-            pathLength++;
-            elementsToDepthIncrease = nextElementsToDepthIncrease;
-            nextElementsToDepthIncrease = 0;
-          }
-          if (allCavesList.contains(location)) {
-            List<Integer> pathLengths = prospectiveEndNodes.get(location);
-            if (pathLengths == null) {
-              pathLengths = new ArrayList<>();
-            }
-            pathLengths.add(pathLength);
-            Collections.sort(pathLengths);
-            prospectiveEndNodes.put(location, pathLengths);
-          }
+        --elementsToDepthIncrease;
+        if (elementsToDepthIncrease == 0) {
+          pathLength++;
+          elementsToDepthIncrease = nextElementsToDepthIncrease;
+          nextElementsToDepthIncrease = 0;
         }
-      }
-      List<Location> toBeRemoved = new ArrayList<>();
-      for (Location location : prospectiveEndNodes.keySet()) {
-        List<Integer> integerList = prospectiveEndNodes.get(location);
-        Integer integer = integerList.get(0);
-        if (integer < 6) {
-          toBeRemoved.add(location);
+        if (nextMoves.size() != 2 && pathLength >= 6) {
+          prospectiveEndCells[prospectiveEndCount++] = cell;
         }
       }
-      for (Location location : toBeRemoved) {
-        prospectiveEndNodes.remove(location);
-      }
-      updateCurrentPosition(startX, startY);
-
-      if (prospectiveEndNodes.size() > 0 && startX != -1 && startY != -1) {
-        int randomIndexEndNode = randomizer.getRandomValue(0, prospectiveEndNodes.size() - 1);
-        List<Location> prospectiveEndLocations = new ArrayList<>(prospectiveEndNodes.keySet());
-        Location endLocation = prospectiveEndLocations.get(randomIndexEndNode);
-        endX = endLocation.getRow();
-        endY = endLocation.getColumn();
-        updateCurrentPosition(startX, startY);
-        LocationPrivate startLoc = getLocation(startX, startY);
+      if (prospectiveEndCount > 0) {
+        int randomIndexEndNode = randomizer.getRandomValue(0, prospectiveEndCount - 1);
+        int endCell = prospectiveEndCells[randomIndexEndNode];
+        endX = endCell / columns;
+        endY = endCell % columns;
+        LocationPrivate startLoc = maze.getLocation(startX, startY);
         startLoc.setExplored();
         startEndSet = true;
       }
     }
   }
 
-  private LocationPrivate getLocation(int x, int y) throws IllegalArgumentException {
-    if (x < 0 || y < 0) {
-      throw new IllegalArgumentException("Please provide valid coordinates");
-    }
-    if (x >= maze.size() || y >= maze.get(0).size()) {
-      throw new IllegalArgumentException("Please provide valid coordinates");
-    }
-    return maze.get(x).get(y);
-  }
-
   private void updateCurrentPosition(int x, int y) throws IllegalArgumentException {
     if (x < 0 || y < 0) {
       throw new IllegalArgumentException("Please provide valid coordinates");
     }
-    if (x >= maze.size() || y >= maze.get(0).size()) {
+    if (x >= maze.getRows() || y >= maze.getColumns()) {
       throw new IllegalArgumentException("Please provide valid coordinates");
     }
     currentX = x;
     currentY = y;
   }
 
-  private boolean validateNextMove(Move move) {
+  private int getNextCell(int cell, Move move) throws IllegalArgumentException {
     if (move == null) {
-      return true;
-    }
-    final Set<Move> nextMoves = getLocation(currentX, currentY).getNextMoves();
-    return !nextMoves.contains(move);
-  }
-
-  private LocationPrivate getNextLocation(Location location, Move move)
-          throws IllegalArgumentException {
-    if (location == null || move == null) {
-      throw new IllegalArgumentException("Please provide non null parameters");
+      throw new IllegalArgumentException("Move cannot be null");
     }
-    List<Integer> coordinates = new ArrayList<>();
-    int row = location.getRow();
-    int column = location.getColumn();
+    int rows = maze.getRows();
+    int columns = maze.getColumns();
+    int row = cell / columns;
+    int column = cell % columns;
     switch (move) {
-      case NORTH: {
-        int x = row - 1;
-        if (x < 0) {
-          x = maze.size() - 1;
-        }
-        coordinates.add(x);
-        coordinates.add(column);
-        break;
-      }
-      case SOUTH: {
-        int x = row + 1;
-        if (x == maze.size()) {
-          x = 0;
-        }
-        coordinates.add(x);
-        coordinates.add(column);
-        break;
-      }
-      case EAST: {
-        int y = column + 1;
-        if (y == maze.get(row).size()) {
-          y = 0;
-        }
-        coordinates.add(row);
-        coordinates.add(y);
-        break;
-      }
-      case WEST: {
-        int y = column - 1;
-        if (y < 0) {
-          y = maze.get(row).size() - 1;
-        }
-        coordinates.add(row);
-        coordinates.add(y);
-        break;
-      }
-      default: {
-        throw new IllegalStateException("getNextLocation should never be in default condition");
-      }
+      case NORTH:
+        return (row == 0 ? rows - 1 : row - 1) * columns + column;
+      case SOUTH:
+        return (row == rows - 1 ? 0 : row + 1) * columns + column;
+      case EAST:
+        return row * columns + (column == columns - 1 ? 0 : column + 1);
+      case WEST:
+        return row * columns + (column == 0 ? columns - 1 : column - 1);
+      default:
+        throw new IllegalStateException("getNextCell should never be in default condition");
     }
-    if (coordinates.size() != 2) {
-      throw new IllegalArgumentException("Something went wrong in getting new coordinates");
+  }
+
+  private boolean validateNextMove(Move move) {
+    if (move == null) {
+      return true;
     }
-    return maze.get(coordinates.get(0)).get(coordinates.get(1));
+    int moveMask = maze.getMoveMask(currentX * maze.getColumns() + currentY);
+    return (moveMask & move.getMask()) == 0;
   }
 
   private void fillUpTreasure(int treasurePercentage, Randomizer randomizer)
@@ -491,18 +692,19 @@ public class DungeonModel implements Dungeon {
       throw new IllegalArgumentException("Please provide non null randomizer");
     }
     if (treasurePercentage > 0) {
-      List<LocationPrivate> allNodes = getAllCaves();
+      int[] allCaves = getAllCaveCells();
+      DrawTree allNodes = new DrawTree(allCaves.length);
       double percentage = treasurePercentage / 100.00;
       int numberOfNodesToFillTreasure = Double.valueOf(
-              Math.round(percentage * allNodes.size())).intValue();
+              Math.round(percentage * allCaves.length)).intValue();
       if (numberOfNodesToFillTreasure == 0) {
         numberOfNodesToFillTreasure = 1;
       }
       while (numberOfNodesToFillTreasure > 0) {
-        if (allNodes.size() >= 1) {
+        if (allNodes.remaining() >= 1) {
           List<Treasure> treasures = new ArrayList<>(Arrays.asList(Treasure.values()));
-          int randomIndex = randomizer.getRandomValue(0, allNodes.size() - 1);
-          LocationPrivate treasureNode = allNodes.remove(randomIndex);
+          int randomIndex = randomizer.getRandomValue(0, allNodes.remaining() - 1);
+          LocationPrivate treasureNode = getCellLocation(allCaves[allNodes.draw(randomIndex)]);
           int randomNumberOfTreasures = randomizer.getRandomValue(1, 3);
           for (int i = 0; i < randomNumberOfTreasures; i++) {
             int randomTreasureIndex = randomizer.getRandomValue(0, treasures.size() - 1);
@@ -525,17 +727,17 @@ public class DungeonModel implements Dungeon {
       throw new IllegalArgumentException("Please provide non null randomizer");
     }
     if (treasurePercentage > 0) {
-      List<LocationPrivate> totalLocations = getAllLocations();
+      DrawTree totalLocations = new DrawTree(maze.getRows() * maze.getColumns());
       double percentage = treasurePercentage / 100.00;
       int numberOfLocationsToFillArrows = Double.valueOf(
-              Math.round(percentage * totalLocations.size())).intValue();
+              Math.round(percentage * totalLocations.remaining())).intValue();
       if (numberOfLocationsToFillArrows == 0) {
         numberOfLocationsToFillArrows = 1;
       }
       while (numberOfLocationsToFillArrows > 0) {
-        if (totalLocations.size() >= 1) {
-          int randomIndex = randomizer.getRandomValue(0, totalLocations.size() - 1);
-          LocationPrivate arrowNode = totalLocations.remove(randomIndex);
+        if (totalLocations.remaining() >= 1) {
+          int randomIndex = randomizer.getRandomValue(0, totalLocations.remaining() - 1);
+          LocationPrivate arrowNode = getCellLocation(totalLocations.draw(randomIndex));
           int randomNumberOfArrows = randomizer.getRandomValue(1, 3);
           arrowNode.setArrows(randomNumberOfArrows);
           numberOfLocationsToFillArrows--;
@@ -552,14 +754,15 @@ public class DungeonModel implements Dungeon {
     if (randomizer == null) {
       throw new IllegalArgumentException("Please provide non null randomizer");
     }
-    List<LocationPrivate> allNodes = getAllCaves();
-    LocationPrivate endNode = getLocation(endX, endY);
+    int[] allCaves = getAllCaveCells();
+    DrawTree allNodes = new DrawTree(allCaves.length);
+    LocationPrivate endNode = maze.getLocation(endX, endY);
     endNode.setMonster();
     numberOfMonsters--;
     while (numberOfMonsters > 0) {
-      if (allNodes.size() >= 1) {
-        int randomIndex = randomizer.getRandomValue(0, allNodes.size() - 1);
-        LocationPrivate monsterCave = allNodes.remove(randomIndex);
+      if (allNodes.remaining() >= 1) {
+        int randomIndex = randomizer.getRandomValue(0, allNodes.remaining() - 1);
+        LocationPrivate monsterCave = getCellLocation(allCaves[allNodes.draw(randomIndex)]);
         if (monsterCave.getRow() != startX && monsterCave.getColumn() != startY) {
           monsterCave.setMonster();
           numberOfMonsters--;
@@ -579,60 +782,78 @@ public class DungeonModel implements Dungeon {
     player.fireArrow();
     ArrowHitOutcome hit = ArrowHitOutcome.MISS;
     int distance = arrowDistance;
-    LocationPrivate arrowCurrentLocation = getLocation(currentX, currentY);
+    int arrowCell = currentX * maze.getColumns() + currentY;
 
     Move travelDirection = direction;
     while (distance > 0) {
-      Set<Move> nextMoves = arrowCurrentLocation.getNextMoves();
-      if (nextMoves.contains(travelDirection)) {
-        arrowCurrentLocation = getNextLocation(arrowCurrentLocation, travelDirection);
+      int moveMask = maze.getMoveMask(arrowCell);
+      if ((moveMask & travelDirection.getMask()) != 0) {
+        arrowCell = getNextCell(arrowCell, travelDirection);
       } else {
-        if (!arrowCurrentLocation.isCave()) {
-          nextMoves.remove(travelDirection.getOpposite());
-          travelDirection = nextMoves.iterator().next();
-          arrowCurrentLocation = getNextLocation(arrowCurrentLocation, travelDirection);
+        if (Integer.bitCount(moveMask) == 2) {
+          //A tunnel bends the arrow into its exit that is not where the arrow came from.
+          int exitMask = moveMask & ~travelDirection.getOpposite().getMask();
+          travelDirection = MOVES[Integer.numberOfTrailingZeros(exitMask)];
+          arrowCell = getNextCell(arrowCell, travelDirection);
         } else {
           distance = 0;
         }
       }
-      if (arrowCurrentLocation.isCave()) {
+      if (Integer.bitCount(maze.getMoveMask(arrowCell)) != 2) {
         distance--;
       }
     }
+    LocationPrivate arrowCurrentLocation = getCellLocation(arrowCell);
     if (arrowCurrentLocation.hasMonster() && distance == 0) {
       arrowCurrentLocation.hitMonster();
       if (arrowCurrentLocation.getMonster().isDead()) {
+        recordChange(arrowCell, ChangeReason.MONSTER_KILLED);
+        updateSmellAround(arrowCell);
         hit = ArrowHitOutcome.KILLED;
       } else if (arrowCurrentLocation.getMonster().isInjured()) {
+        recordChange(arrowCell, ChangeReason.MONSTER_INJURED);
         hit = ArrowHitOutcome.INJURED;
       }
     }
     return hit;
   }
 
-  private List<LocationPrivate> getAllCaves() {
-    List<LocationPrivate> allNodes = new ArrayList<>();
-    for (List<LocationPrivate> yList : maze) {
-      for (LocationPrivate location : yList) {
-        if (location.isCave()) {
-          allNodes.add(location);
-        }
+  private int[] getAllCaveCells() {
+    int columns = maze.getColumns();
+    int[] caves = new int[maze.getRows() * columns];
+    int numberOfCaves = 0;
+    for (int cell = 0; cell < caves.length; cell++) {
+      if (getCellLocation(cell).isCave()) {
+        caves[numberOfCaves++] = cell;
       }
     }
-    return allNodes;
+    return Arrays.copyOf(caves, numberOfCaves);
   }
 
-  private List<LocationPrivate> getAllLocations() {
-    List<LocationPrivate> allNodes = new ArrayList<>();
-    for (List<LocationPrivate> yList : maze) {
-      allNodes.addAll(yList);
-    }
-    return allNodes;
+  //package-private, used by DungeonFile to save the game
+  MazeGrid getGrid() {
+    return maze;
+  }
+
+  //package-private, used by DungeonFile to save the game
+  boolean isWrapped() {
+    return wrapped;
+  }
+
+  private LocationPrivate getCellLocation(int cell) {
+    int columns = maze.getColumns();
+    return maze.getLocation(cell / columns, cell % columns);
   }
 
-  private void validator(int rows, int columns, boolean wrapped,
-                         int interconnectivity, int treasurePercentage, int numberOfMonsters,
-                         Randomizer randomizer) throws IllegalArgumentException {
+  /*
+   * Checks the configuration of a new dungeon without generating it. The number of monsters can
+   * only be checked against the number of caves once the maze is generated, here it is only
+   * checked against the number of locations.
+   */
+  //package-private, used by DungeonSwingController before generating a dungeon in the background
+  static void validateConfig(int rows, int columns, boolean wrapped,
+                             int interconnectivity, int treasurePercentage, int numberOfMonsters,
+                             Randomizer randomizer) throws IllegalArgumentException {
     if (randomizer == null) {
       throw new IllegalArgumentException("Randomizer cannot be null");
     }
@@ -640,10 +861,7 @@ public class DungeonModel implements Dungeon {
       throw new IllegalArgumentException("Maze dimensions cannot be less than 5x4");
     }
     int interconnectivityLimit;
-    int totalEdges = (rows * (columns - 1)) + ((rows - 1) * columns);
-    if (wrapped) {
-      totalEdges += rows + columns;
-    }
+    int totalEdges = getTotalEdges(rows, columns, wrapped);
     int mstEdges = (rows * columns) - 1;
     interconnectivityLimit = totalEdges - mstEdges;
     if (interconnectivity < 0 || interconnectivity > interconnectivityLimit) {
@@ -657,124 +875,161 @@ public class DungeonModel implements Dungeon {
     if (numberOfMonsters < 0) {
       throw new IllegalArgumentException("Number of monsters cannot be negative");
     }
+    if (numberOfMonsters > rows * columns) {
+      throw new IllegalArgumentException("Number of monsters is greater than number of locations: "
+              + rows * columns);
+    }
   }
 
-  private void connectInterconnectivity(int interconnectivity, List<Edge> skippedEdges)
+  private void connectInterconnectivity(int interconnectivity, EdgePool skippedEdges)
           throws IllegalArgumentException {
     if (skippedEdges == null) {
       throw new IllegalArgumentException("Null passed for skipped edges");
     }
     if (interconnectivity > 0) {
       for (int i = 0; i < interconnectivity; i++) {
-        int index = randomizer.getRandomValue(0, skippedEdges.size() - 1);
-        Edge edge = skippedEdges.remove(index);
-        int x = edge.getX1();
-        int y = edge.getY1();
-        int x2 = edge.getX2();
-        int y2 = edge.getY2();
-        LocationPrivate locationA = getLocation(x, y);
-        LocationPrivate locationB = getLocation(x2, y2);
-        Move move = edge.getMove();
-        locationA.setNextMove(move);
-        locationB.setNextMove(move.getOpposite());
+        int index = randomizer.getRandomValue(0, skippedEdges.remaining() - 1);
+        int slot = skippedEdges.draw(index);
+        connectCells(skippedEdges.getCellA(slot), skippedEdges.getCellB(slot),
+                skippedEdges.getMove(slot));
       }
     }
   }
 
-  private void connectMazeEdges(Randomizer randomizer, Stack<Edge> edges,
-                                List<Edge> skippedEdges, List<Set<LocationPrivate>> listOfSets)
+  private void connectMazeEdges(Randomizer randomizer, EdgePool edges,
+                                EdgePool skippedEdges, DisjointSet components)
           throws IllegalArgumentException {
-    if (randomizer == null || edges == null || skippedEdges == null || listOfSets == null) {
+    if (randomizer == null || edges == null || skippedEdges == null || components == null) {
       throw new IllegalArgumentException("Please provided valid arguments");
     }
-    while (edges.size() > 0) {
-      int index = randomizer.getRandomValue(0, edges.size() - 1);
-      Edge edge = edges.remove(index);
-      int x = edge.getX1();
-      int y = edge.getY1();
-      int x2 = edge.getX2();
-      int y2 = edge.getY2();
-      LocationPrivate locationA = getLocation(x, y);
-      LocationPrivate locationB = getLocation(x2, y2);
-      Move move = edge.getMove();
-      Set<LocationPrivate> setA = getSetContainingNode(listOfSets, locationA);
-      if (setA == null) {
-        setA = new HashSet<>();
-        setA.add(locationA);
-        listOfSets.add(setA);
-      }
-      Set<LocationPrivate> setB = getSetContainingNode(listOfSets, locationB);
-      if (setB == null) {
-        setB = new HashSet<>();
-        setB.add(locationB);
-        listOfSets.add(setB);
-      }
-      if (!Collections.disjoint(setA, setB)) {
-        skippedEdges.add(edge);
+    while (edges.remaining() > 0) {
+      int index = randomizer.getRandomValue(0, edges.remaining() - 1);
+      int slot = edges.draw(index);
+      int cellA = edges.getCellA(slot);
+      int cellB = edges.getCellB(slot);
+      Move move = edges.getMove(slot);
+      if (!components.union(cellA, cellB)) {
+        skippedEdges.add(cellA, cellB, move);
       } else {
-        setA.addAll(setB);
-        listOfSets.remove(setB);
-        locationA.setNextMove(move);
-        locationB.setNextMove(move.getOpposite());
+        connectCells(cellA, cellB, move);
       }
     }
   }
 
-  private Stack<Edge> generateEdges(int rows, int columns, boolean wrapped)
+  private void connectCells(int cellA, int cellB, Move move) {
+    LocationPrivate locationA = getCellLocation(cellA);
+    LocationPrivate locationB = getCellLocation(cellB);
+    locationA.setNextMove(move);
+    locationB.setNextMove(move.getOpposite());
+  }
+
+  private EdgePool generateEdges(int rows, int columns, boolean wrapped)
           throws IllegalArgumentException {
     if (rows < 5 || columns < 4) {
       throw new IllegalArgumentException("Please provide row 5 or greater and column 4 or greater");
     }
-    Stack<Edge> edges = new Stack<>();
+    EdgePool edges = new EdgePool(getTotalEdges(rows, columns, wrapped));
     for (int x = 0; x < rows; x++) {
-      maze.add(x, new ArrayList<>());
       for (int y = 0; y < columns; y++) {
-        List<LocationPrivate> yList = maze.get(x);
-        yList.add(y, new LocationNode(x, y));
+        int cell = x * columns + y;
         if (x != 0 || wrapped) {
           int x2 = (x == 0) ? rows - 1 : x - 1;
-          int y2 = y;
-          edges.add(new Edge(x, y, x2, y2, Move.NORTH));
+          edges.add(cell, x2 * columns + y, Move.NORTH);
         }
         if (y != columns - 1 || wrapped) {
-          int x2 = x;
           int y2 = (y == columns - 1) ? 0 : y + 1;
-          edges.add(new Edge(x, y, x2, y2, Move.EAST));
+          edges.add(cell, x * columns + y2, Move.EAST);
         }
       }
     }
     return edges;
   }
 
-  private Set<LocationPrivate> getSetContainingNode(
-          List<Set<LocationPrivate>> listOfSets, LocationPrivate locationA)
-          throws IllegalArgumentException {
-    if (listOfSets == null || locationA == null) {
-      throw new IllegalStateException("Please provide valid arguments");
+  private static int getTotalEdges(int rows, int columns, boolean wrapped) {
+    int totalEdges = (rows * (columns - 1)) + ((rows - 1) * columns);
+    if (wrapped) {
+      totalEdges += rows + columns;
     }
-    for (Set<LocationPrivate> set : listOfSets) {
-      if (set.contains(locationA)) {
-        return set;
+    return totalEdges;
+  }
+
+  //Smell only depends on monsters at most two moves away, so only the cells around a living
+  //monster need to be computed. Every other cell keeps the default of no smell.
+  private void buildSmellField() {
+    for (int cell = 0; cell < smellField.length; cell++) {
+      if (getCellLocation(cell).hasMonster()) {
+        updateSmellAround(cell);
       }
     }
-    return null;
   }
 
-  private int getSmellHelper(Location location) throws IllegalArgumentException {
-    if (location == null) {
-      throw new IllegalArgumentException("Location cannot be null");
+  //Recomputes the smell of every cell within two moves of the provided cell. Moves are two-way,
+  //so these are exactly the cells whose smell can change when the monster in this cell changes.
+  private void updateSmellAround(int cell) {
+    if (smellFieldShared) {
+      smellField = smellField.clone();
+      smellFieldShared = false;
+    }
+    updateSmell(cell);
+    for (Move move : Move.fromMask(maze.getMoveMask(cell))) {
+      int cell1 = getNextCell(cell, move);
+      updateSmell(cell1);
+      for (Move move1 : Move.fromMask(maze.getMoveMask(cell1))) {
+        updateSmell(getNextCell(cell1, move1));
+      }
+    }
+  }
+
+  private void updateSmell(int cell) {
+    byte smell = (byte) getSmellHelper(cell);
+    if (smellField[cell] != smell) {
+      smellField[cell] = smell;
+      recordChange(cell, ChangeReason.SMELL_CHANGED);
+    }
+  }
+
+  private void recordChange(int cell, ChangeReason reason) {
+    List<DungeonListener> current = listeners;
+    if (current != null && !current.isEmpty()) {
+      int columns = maze.getColumns();
+      changedCells.add(new CellChange(cell / columns, cell % columns, reason));
+      changeReasons.add(reason);
+    }
+  }
+
+  private void recordChange(ChangeReason reason) {
+    List<DungeonListener> current = listeners;
+    if (current != null && !current.isEmpty()) {
+      changeReasons.add(reason);
+    }
+  }
+
+  //Delivers the changes recorded by the action that just completed as a single batch.
+  private void fireChanges() {
+    List<DungeonListener> current = listeners;
+    if (current != null && !changeReasons.isEmpty()) {
+      DungeonChange change = new DungeonChange(changedCells, changeReasons);
+      changedCells.clear();
+      changeReasons.clear();
+      for (DungeonListener listener : current) {
+        listener.dungeonChanged(change);
+      }
     }
+  }
+
+  private int getSmellHelper(int cell) {
     int smell = 0;
-    Set<Move> nextMoves = location.getNextMoves();
+    Set<Move> nextMoves = Move.fromMask(maze.getMoveMask(cell));
     int count2PositionMonsters = 0;
     for (Move move : nextMoves) {
-      Location location1 = getNextLocation(location, move);
+      int cell1 = getNextCell(cell, move);
+      LocationPrivate location1 = getCellLocation(cell1);
       if (location1.hasMonster()) {
         smell = 2;
       }
-      Set<Move> nextMovesLevel2 = location1.getNextMoves();
+      Set<Move> nextMovesLevel2 = Move.fromMask(location1.getMoveMask());
       for (Move nextMoveLeve2 : nextMovesLevel2) {
-        Location location2 = getNextLocation(location1, nextMoveLeve2);
+        Location location2 = getCellLocation(getNextCell(cell1, nextMoveLeve2));
         if (location2.hasMonster()) {
           count2PositionMonsters++;
           if (smell < 2 && count2PositionMonsters > 1) {
@@ -791,13 +1046,19 @@ public class DungeonModel implements Dungeon {
 
   private void buildDungeon(int rows, int columns, boolean wrapped,
                             int interconnectivity, int treasurePercentage, int numberOfMonsters,
-                            Randomizer randomizer) {
-    Stack<Edge> edges = generateEdges(rows, columns, wrapped);
-    List<Edge> skippedEdges = new ArrayList<>();
-    List<Set<LocationPrivate>> listOfSets = new ArrayList<>();
-    connectMazeEdges(randomizer, edges, skippedEdges, listOfSets);
+                            Randomizer randomizer, ForkJoinPool pool) {
+    EdgePool skippedEdges;
+    if (pool == null) {
+      EdgePool edges = generateEdges(rows, columns, wrapped);
+      skippedEdges = new EdgePool(edges.remaining() - (rows * columns - 1));
+      DisjointSet components = new DisjointSet(rows * columns);
+      connectMazeEdges(randomizer, edges, skippedEdges, components);
+    } else {
+      skippedEdges = new TiledSpanningTree(maze, wrapped, TiledSpanningTree.DEFAULT_TILE_SIZE)
+              .build(randomizer, pool);
+    }
     connectInterconnectivity(interconnectivity, skippedEdges);
-    int numberOfCaves = getAllCaves().size();
+    int numberOfCaves = getAllCaveCells().length;
     if (numberOfMonsters > numberOfCaves) {
       throw new IllegalArgumentException("Number of monsters is greater than number of caves: "
               + numberOfCaves);
@@ -806,5 +1067,6 @@ public class DungeonModel implements Dungeon {
     generateStartEndNodes(randomizer);
     fillUpArrows(treasurePercentage, randomizer);
     fillUpMonsters(numberOfMonsters, randomizer);
+    buildSmellField();
   }
 }
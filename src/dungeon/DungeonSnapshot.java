@@ -0,0 +1,313 @@
+package dungeon;
+
+import java.util.List;
+
+/**
+ * Holds what the graphical view shows of a dungeon at the end of an action: the tile code of the
+ * cells, as packed by {@link TileCache#getCode}, the player position, the contents of the cell of
+ * the player, the inventory of the player and whether the game is over. A snapshot is built on
+ * the thread running the actions and never changes, so it can be handed to the event dispatch
+ * thread, which then never reads the dungeon while it changes. A snapshot holds either every cell
+ * or only the cells changed by an action.
+ */
+//package-private class
+final class DungeonSnapshot {
+  private static final Treasure[] TREASURES = Treasure.values();
+
+  private final int rows;
+  private final int columns;
+  private final int startCell;
+  private final int endCell;
+  private final int playerCell;
+  //Null when codes holds every cell.
+  private final int[] cells;
+  private final int[] codes;
+  private final int locationMoveMask;
+  private final int locationArrows;
+  private final int[] locationTreasure;
+  private final int playerArrows;
+  private final int[] playerTreasure;
+  private final boolean playerDead;
+  private final boolean playerVisitedEnd;
+
+  /**
+   * Creates a snapshot from its parts, the arrays are kept as is.
+   *
+   * @param rows             the number of rows in the dungeon.
+   * @param columns          the number of columns in the dungeon.
+   * @param markers          the start, end and player cells.
+   * @param cells            the cells in the snapshot, null for every cell.
+   * @param codes            the tile code of every cell in the snapshot.
+   * @param location         the move mask and arrows of the cell of the player followed by its
+   *                         count of every treasure.
+   * @param player           the arrows of the player followed by their count of every treasure.
+   * @param playerDead       whether the player is dead.
+   * @param playerVisitedEnd whether the player reached the end.
+   * @throws IllegalArgumentException if the arrays do not match the dungeon.
+   */
+  DungeonSnapshot(int rows, int columns, int[] markers, int[] cells, int[] codes, int[] location,
+                  int[] player, boolean playerDead, boolean playerVisitedEnd)
+          throws IllegalArgumentException {
+    if (rows <= 0 || columns <= 0 || markers == null || markers.length != 3 || codes == null
+            || (cells == null ? codes.length != rows * columns : cells.length != codes.length)
+            || location == null || location.length != 2 + TREASURES.length || player == null
+            || player.length != 1 + TREASURES.length) {
+      throw new IllegalArgumentException("Please provide the parts of a snapshot of the dungeon");
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.startCell = markers[0];
+    this.endCell = markers[1];
+    this.playerCell = markers[2];
+    this.cells = cells;
+    this.codes = codes;
+    this.locationMoveMask = location[0];
+    this.locationArrows = location[1];
+    this.locationTreasure = new int[TREASURES.length];
+    System.arraycopy(location, 2, locationTreasure, 0, TREASURES.length);
+    this.playerArrows = player[0];
+    this.playerTreasure = new int[TREASURES.length];
+    System.arraycopy(player, 1, playerTreasure, 0, TREASURES.length);
+    this.playerDead = playerDead;
+    this.playerVisitedEnd = playerVisitedEnd;
+  }
+
+  /**
+   * Takes a snapshot of every cell of the dungeon. Must be called on the thread running the
+   * actions of the dungeon.
+   *
+   * @param dungeon the dungeon.
+   * @return the snapshot.
+   * @throws IllegalArgumentException if dungeon is null.
+   */
+  static DungeonSnapshot of(ReadOnlyDungeon dungeon) throws IllegalArgumentException {
+    if (dungeon == null) {
+      throw new IllegalArgumentException("Dungeon cannot be null");
+    }
+    int columns = dungeon.columns();
+    int playerCell = getCell(dungeon.getPlayerCurrentLocation(), columns);
+    int[] codes = new int[dungeon.rows() * columns];
+    for (int row = 0; row < dungeon.rows(); row++) {
+      for (Location location : dungeon.getRow(row)) {
+        int cell = row * columns + location.getColumn();
+        codes[cell] = getCode(dungeon, location, cell == playerCell);
+      }
+    }
+    return create(dungeon, null, codes);
+  }
+
+  /**
+   * Takes a snapshot of the provided cells of the dungeon. Must be called on the thread running
+   * the actions of the dungeon.
+   *
+   * @param dungeon the dungeon.
+   * @param changes the changed cells.
+   * @return the snapshot.
+   * @throws IllegalArgumentException if dungeon or changes is null.
+   */
+  static DungeonSnapshot of(ReadOnlyDungeon dungeon, List<CellChange> changes)
+          throws IllegalArgumentException {
+    if (dungeon == null || changes == null) {
+      throw new IllegalArgumentException("Dungeon and changes cannot be null");
+    }
+    int columns = dungeon.columns();
+    int playerCell = getCell(dungeon.getPlayerCurrentLocation(), columns);
+    int[] cells = new int[changes.size()];
+    int[] codes = new int[cells.length];
+    for (int i = 0; i < cells.length; i++) {
+      CellChange change = changes.get(i);
+      cells[i] = change.getRow() * columns + change.getColumn();
+      codes[i] = getCode(dungeon, dungeon.getLocation(change.getRow(), change.getColumn()),
+              cells[i] == playerCell);
+    }
+    return create(dungeon, cells, codes);
+  }
+
+  /**
+   * Returns the number of rows in the dungeon.
+   *
+   * @return the number of rows.
+   */
+  int rows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of columns in the dungeon.
+   *
+   * @return the number of columns.
+   */
+  int columns() {
+    return columns;
+  }
+
+  /**
+   * Returns the start cell, as row * columns + column.
+   *
+   * @return the start cell.
+   */
+  int getStartCell() {
+    return startCell;
+  }
+
+  /**
+   * Returns the end cell, as row * columns + column.
+   *
+   * @return the end cell.
+   */
+  int getEndCell() {
+    return endCell;
+  }
+
+  /**
+   * Returns the cell of the player, as row * columns + column.
+   *
+   * @return the cell of the player.
+   */
+  int getPlayerCell() {
+    return playerCell;
+  }
+
+  /**
+   * Returns whether the snapshot holds every cell of the dungeon.
+   *
+   * @return true if it holds every cell.
+   */
+  boolean hasEveryCell() {
+    return cells == null;
+  }
+
+  /**
+   * Returns the number of cells in the snapshot.
+   *
+   * @return the number of cells.
+   */
+  int getCellCount() {
+    return codes.length;
+  }
+
+  /**
+   * Returns a cell in the snapshot, as row * columns + column.
+   *
+   * @param index the index of the cell in the snapshot.
+   * @return the cell.
+   */
+  int getCell(int index) {
+    return cells == null ? index : cells[index];
+  }
+
+  /**
+   * Returns the tile code of a cell in the snapshot.
+   *
+   * @param index the index of the cell in the snapshot.
+   * @return the tile code.
+   */
+  int getCode(int index) {
+    return codes[index];
+  }
+
+  /**
+   * Returns the move mask of the cell of the player.
+   *
+   * @return the move mask.
+   */
+  int getLocationMoveMask() {
+    return locationMoveMask;
+  }
+
+  /**
+   * Returns the number of arrows in the cell of the player.
+   *
+   * @return the number of arrows.
+   */
+  int getLocationArrows() {
+    return locationArrows;
+  }
+
+  /**
+   * Returns the count of a treasure in the cell of the player.
+   *
+   * @param treasure the treasure.
+   * @return the count.
+   */
+  int getLocationTreasure(Treasure treasure) {
+    return locationTreasure[treasure.ordinal()];
+  }
+
+  /**
+   * Returns the number of arrows of the player.
+   *
+   * @return the number of arrows.
+   */
+  int getPlayerArrows() {
+    return playerArrows;
+  }
+
+  /**
+   * Returns the count of a treasure of the player.
+   *
+   * @param treasure the treasure.
+   * @return the count.
+   */
+  int getPlayerTreasure(Treasure treasure) {
+    return playerTreasure[treasure.ordinal()];
+  }
+
+  /**
+   * Returns whether the player is dead.
+   *
+   * @return true if the player is dead.
+   */
+  boolean isPlayerDead() {
+    return playerDead;
+  }
+
+  /**
+   * Returns whether the player reached the end.
+   *
+   * @return true if the player reached the end.
+   */
+  boolean playerVisitedEnd() {
+    return playerVisitedEnd;
+  }
+
+  /**
+   * Returns whether the game is over.
+   *
+   * @return true if the game is over.
+   */
+  boolean isGameOver() {
+    return playerDead || playerVisitedEnd;
+  }
+
+  private static DungeonSnapshot create(ReadOnlyDungeon dungeon, int[] cells, int[] codes) {
+    int columns = dungeon.columns();
+    Location playerLocation = dungeon.getPlayerCurrentLocation();
+    int[] markers = {getCell(dungeon.getStartLocation(), columns),
+        getCell(dungeon.getEndLocation(), columns), getCell(playerLocation, columns)};
+    int[] location = new int[2 + TREASURES.length];
+    location[0] = playerLocation.getMoveMask();
+    location[1] = playerLocation.getArrows();
+    Player playerDescription = dungeon.getPlayerDescription();
+    int[] player = new int[1 + TREASURES.length];
+    player[0] = playerDescription.getArrows();
+    for (Treasure treasure : TREASURES) {
+      location[2 + treasure.ordinal()] = playerLocation.getTreasureCount(treasure);
+      player[1 + treasure.ordinal()] = playerDescription.getTreasureCount(treasure);
+    }
+    return new DungeonSnapshot(dungeon.rows(), columns, markers, cells, codes, location, player,
+            dungeon.isPlayerDead(), dungeon.playerVisitedEnd());
+  }
+
+  private static int getCode(ReadOnlyDungeon dungeon, Location location, boolean hasPlayer) {
+    SmellLevel smell = SmellLevel.NONE;
+    if (location.isExplored() && !location.hasMonster()) {
+      smell = dungeon.getSmell(location);
+    }
+    return TileCache.getCode(location, hasPlayer, smell);
+  }
+
+  private static int getCell(Location location, int columns) {
+    return location.getRow() * columns + location.getColumn();
+  }
+}
@@ -5,39 +5,114 @@ import randomizer.Randomizer;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
 
 /**
  * This serves as JAVA swing based graphical user interface based controller for the player in the
- * dungeon game.
+ * dungeon game. Every action of the player runs on a single game thread in the order the events
+ * arrived, and the results are published back to the view on the event dispatch thread. New
+ * dungeons are generated on their own threads and only the finished dungeon is handed to the game
+ * thread, so neither the user interface nor the current game waits for a large dungeon.
+ * Arrow keys released while the previous moves are still being made or drawn are merged into a
+ * single path, which is moved in one action and drawn with one refresh.
  */
 public class DungeonSwingController implements DungeonGraphicalController {
-  private Randomizer randomizer;
+  private static final int PREGENERATED_DUNGEONS = 2;
+  private static final String LATENCY_FILE = "dungeon-latency.csv";
+  private final DungeonFactory dungeonFactory;
   private Dungeon dungeon;
   private DungeonView view;
   private Dungeon modelCopy;
-  private int rows;
-  private int columns;
-  private boolean wrapped;
-  private int interconnectivity;
-  private int treasureAndArrowPercentage;
-  private int numberOfMonsters;
+  private final Executor generationExecutor;
+  private final Executor gameExecutor;
+  private final Executor viewExecutor;
+  private final LatencyMonitor latency;
+  //Moves of the arrow keys not made yet, guarded by itself along with pendingStart and
+  //movesScheduled.
+  private final List<Move> pendingMoves;
+  private long pendingStart;
+  private boolean movesScheduled;
+  //Changed on the view thread for every dungeon generation started or cancelled.
+  private volatile long generation;
 
   /**
    * Creates an instance of Java Swing based Graphical User Interface controller for controlling
    * the dungeon game.
    */
   public DungeonSwingController() {
-    randomizer = null;
+    this(Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "dungeon-generation");
+      thread.setDaemon(true);
+      return thread;
+    }), Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "dungeon-game");
+      thread.setDaemon(true);
+      return thread;
+    }), SwingUtilities::invokeLater);
+  }
+
+  /**
+   * Creates a controller that runs the game and generates dungeons on the provided executors,
+   * generating the dungeons on the game executor. The game executor must run its tasks one at a
+   * time in the order they are submitted. Passing Runnable::run for both runs the game on the
+   * calling thread.
+   *
+   * @param gameExecutor runs the dungeon generation and the actions of the player.
+   * @param viewExecutor runs the updates of the view.
+   * @throws IllegalArgumentException if either executor is null.
+   */
+  public DungeonSwingController(Executor gameExecutor, Executor viewExecutor)
+          throws IllegalArgumentException {
+    this(gameExecutor, gameExecutor, viewExecutor);
+  }
+
+  /**
+   * Creates a controller that runs the game on the provided executors. The game executor must run
+   * its tasks one at a time in the order they are submitted. A dungeon generated on the
+   * generation executor is only handed to the game executor once it is finished, so a generation
+   * that is cancelled keeps running there without holding up the game.
+   *
+   * @param generationExecutor runs the dungeon generation.
+   * @param gameExecutor       runs the actions of the player.
+   * @param viewExecutor       runs the updates of the view.
+   * @throws IllegalArgumentException if any executor is null.
+   */
+  public DungeonSwingController(Executor generationExecutor, Executor gameExecutor,
+                                Executor viewExecutor) throws IllegalArgumentException {
+    if (generationExecutor == null || gameExecutor == null || viewExecutor == null) {
+      throw new IllegalArgumentException("Executors cannot be null");
+    }
+    dungeonFactory = new DungeonFactory(PREGENERATED_DUNGEONS, 1);
     dungeon = null;
     view = null;
     modelCopy = null;
-    rows = 0;
-    columns = 0;
-    wrapped = false;
-    interconnectivity = 0;
-    treasureAndArrowPercentage = 0;
-    numberOfMonsters = 0;
+    this.generationExecutor = generationExecutor;
+    this.gameExecutor = gameExecutor;
+    this.viewExecutor = viewExecutor;
+    this.generation = 0;
+    this.latency = new LatencyMonitor();
+    this.pendingMoves = new ArrayList<>();
+    this.pendingStart = 0;
+    this.movesScheduled = false;
+  }
+
+  /**
+   * Returns the latency from input to paint of the actions of the player in this game session.
+   *
+   * @return the latency monitor.
+   */
+  public LatencyMonitor getLatencyMonitor() {
+    return latency;
   }
 
   /**
@@ -69,7 +144,10 @@ public class DungeonSwingController implements DungeonGraphicalController {
   }
 
   /**
-   * Sets the configuration for the dungeon in the dungeon game.
+   * Sets the configuration for the dungeon in the dungeon game. The configuration is checked on
+   * the calling thread and the dungeon is generated on a generation thread while the view shows
+   * the progress and the current game goes on. Cancelling the progress discards the dungeon once
+   * it is generated and keeps the current game.
    *
    * @param rows                       the number of rows in the dungeon maze.
    * @param columns                    the number of columns in the dungeon maze.
@@ -94,14 +172,47 @@ public class DungeonSwingController implements DungeonGraphicalController {
     if (randomizer == null) {
       throw new IllegalStateException("Randomizer cannot be null");
     }
-    this.randomizer = randomizer;
-    this.rows = rows;
-    this.columns = columns;
-    this.wrapped = wrapped;
-    this.interconnectivity = interconnectivity;
-    this.treasureAndArrowPercentage = treasureAndArrowPercentage;
-    this.numberOfMonsters = numberOfMonsters;
-    createGame();
+    DungeonModel.validateConfig(rows, columns, wrapped, interconnectivity,
+            treasureAndArrowPercentage, numberOfMonsters, randomizer);
+    final long buildGeneration = ++generation;
+    view.showProgress("Generating a " + rows + "x" + columns + " dungeon", () -> {
+      if (generation == buildGeneration) {
+        generation++;
+        view.hideProgress();
+        view.showMessage("Dungeon generation cancelled");
+      }
+    });
+    generationExecutor.execute(() -> {
+      if (generation != buildGeneration) {
+        return;
+      }
+      Dungeon generated;
+      try {
+        generated = new DungeonModel(rows, columns, wrapped, interconnectivity,
+                treasureAndArrowPercentage, numberOfMonsters, randomizer);
+      } catch (IllegalArgumentException iae) {
+        viewExecutor.execute(() -> {
+          if (generation == buildGeneration) {
+            view.hideProgress();
+            view.showMessage(iae.getMessage());
+          }
+        });
+        return;
+      }
+      //The view thread decides whether the generation was cancelled, the game starts after the
+      //events that arrived before that decision.
+      viewExecutor.execute(() -> {
+        if (generation != buildGeneration) {
+          return;
+        }
+        view.hideProgress();
+        gameExecutor.execute(() -> {
+          createGame(generated, null, 0);
+          dungeonFactory.setGameConfig(rows, columns, wrapped, interconnectivity,
+                  treasureAndArrowPercentage, numberOfMonsters, randomizer);
+        });
+      });
+    });
   }
 
   /**
@@ -121,18 +232,30 @@ public class DungeonSwingController implements DungeonGraphicalController {
           break;
         }
         case RESTART: {
-          this.dungeon = new DungeonModel(modelCopy);
-          view.setSource(dungeon);
-          view.refresh();
+          long start = System.nanoTime();
+          gameExecutor.execute(() -> {
+            if (modelCopy == null) {
+              return;
+            }
+            Dungeon restarted = new DungeonModel(modelCopy);
+            this.dungeon = restarted;
+            view.setSource(restarted);
+            publish(null, PlayerAction.RESTART, start);
+          });
           break;
         }
         case RESTART_CONFIG: {
-          try {
-            createGame();
-          } catch (IllegalArgumentException iae) {
-            view.showMessage(iae.getMessage());
-            view.refresh();
-          }
+          long start = System.nanoTime();
+          gameExecutor.execute(() -> {
+            try {
+              createGame(dungeonFactory.takeDungeon(), PlayerAction.RESTART, start);
+            } catch (IllegalArgumentException | IllegalStateException exception) {
+              viewExecutor.execute(() -> {
+                view.showMessage(exception.getMessage());
+                view.refresh();
+              });
+            }
+          });
           break;
         }
         case QUIT: {
@@ -143,6 +266,24 @@ public class DungeonSwingController implements DungeonGraphicalController {
           view.showHelp();
           break;
         }
+        case SHOW_LATENCY: {
+          view.showMessage(latency.toString());
+          break;
+        }
+        case SAVE_LATENCY: {
+          //The file is written off the event dispatch thread so it does not add to the latency.
+          Path path = Paths.get(LATENCY_FILE).toAbsolutePath();
+          generationExecutor.execute(() -> {
+            try (Writer writer = Files.newBufferedWriter(path)) {
+              latency.writeCsv(writer);
+              viewExecutor.execute(() -> view.showMessage("Latency saved to " + path));
+            } catch (IOException ioe) {
+              viewExecutor.execute(() -> view.showMessage("Latency could not be saved: "
+                      + ioe.getMessage()));
+            }
+          });
+          break;
+        }
         default:
           //Do nothing
           break;
@@ -158,16 +299,23 @@ public class DungeonSwingController implements DungeonGraphicalController {
   @Override
   public void handleCellClick(Move move) {
     if (move != null) {
-      try {
-        dungeon.movePlayer(move);
-        StringBuilder message = new StringBuilder("You moved ").append(move);
-        view.showMessage(message.toString());
-        view.refresh();
-      } catch (IllegalArgumentException iae) {
-        view.showMessage(iae.getMessage());
-      } catch (IllegalStateException ise) {
-        //Do nothing
-      }
+      long start = System.nanoTime();
+      Runnable moves = takePendingMoves(null);
+      gameExecutor.execute(() -> {
+        moves.run();
+        if (dungeon == null) {
+          return;
+        }
+        try {
+          dungeon.movePlayer(move);
+          StringBuilder message = new StringBuilder("You moved ").append(move);
+          publish(message.toString(), PlayerAction.MOVE_CLICK, start);
+        } catch (IllegalArgumentException iae) {
+          viewExecutor.execute(() -> view.showMessage(iae.getMessage()));
+        } catch (IllegalStateException ise) {
+          //Do nothing
+        }
+      });
     }
   }
 
@@ -216,99 +364,237 @@ public class DungeonSwingController implements DungeonGraphicalController {
         } else if (e.getKeyCode() == 40) {
           direction = Move.SOUTH;
         }
-        Integer distance = null;
+        int distance;
         try {
           distance = view.acquireArrowDistance();
-          ArrowHitOutcome arrowHitOutcome = dungeon.shootArrow(direction, distance);
-          String message = "";
-          switch (arrowHitOutcome) {
-            case MISS: {
-              message = "\nYour arrow goes whistling through the dungeon "
-                      + "and there's a clunk "
-                      + "as it falls to the ground after hitting a cave wall";
-              break;
-            }
-            case INJURED: {
-              message = "\nYou hear a painful roar in the distance. "
-                      + "It seems your arrow hit an Otyugh";
-              break;
-            }
-            case KILLED: {
-              message = "\nYou hear a painful roar and wild thrashing in the "
-                      + "darkness and then silence. "
-                      + "It seems you've killed an Otyugh";
-              break;
-            }
-            default: {
-              message = "\nYour arrow goes whistling through the dungeon "
-                      + "and there's a clunk "
-                      + "as it falls to the ground after hitting a cave wall";
-            }
-          }
-          view.showMessage(message);
-          view.refresh();
         } catch (NumberFormatException ne) {
           view.showMessage("Shooting cancelled");
-        } catch (IllegalArgumentException | IllegalStateException iae) {
-          view.showMessage(iae.getMessage());
+          return;
         }
+        shootArrow(direction, distance, System.nanoTime());
       } else {
-        try {
-          StringBuilder message = new StringBuilder("You moved ");
-          if (e.getKeyCode() == 37) {
-            dungeon.movePlayer(Move.WEST);
-            message.append(Move.WEST);
-          } else if (e.getKeyCode() == 38) {
-            dungeon.movePlayer(Move.NORTH);
-            message.append(Move.NORTH);
-          } else if (e.getKeyCode() == 39) {
-            dungeon.movePlayer(Move.EAST);
-            message.append(Move.EAST);
-          } else if (e.getKeyCode() == 40) {
-            dungeon.movePlayer(Move.SOUTH);
-            message.append(Move.SOUTH);
-          } else if (e.getKeyCode() == 65) {
-            message.delete(0, message.length());
-            if (dungeon.getPlayerCurrentLocation().hasArrows()) {
-              dungeon.playerPickArrows();
-              message.append("You picked up arrows");
-            }
-            else {
-              message.append("There are no arrows to pickup");
-            }
-          } else if (e.getKeyCode() == 84) {
-            message.delete(0, message.length());
-            if (dungeon.getPlayerCurrentLocation().hasTreasure()) {
-              dungeon.playerPickTreasure();
-              message.append("You picked up some treasure");
-            }
-            else {
-              message.append("There is no treasure to pickup");
-            }
+        int keyCode = e.getKeyCode();
+        long start = System.nanoTime();
+        Move move = null;
+        if (keyCode == 37) {
+          move = Move.WEST;
+        } else if (keyCode == 38) {
+          move = Move.NORTH;
+        } else if (keyCode == 39) {
+          move = Move.EAST;
+        } else if (keyCode == 40) {
+          move = Move.SOUTH;
+        }
+        if (move != null) {
+          queueMove(move, start);
+        } else {
+          Runnable moves = takePendingMoves(null);
+          gameExecutor.execute(() -> {
+            moves.run();
+            handleKey(keyCode, start);
+          });
+        }
+      }
+    }
+  }
+
+  private void shootArrow(Move direction, int distance, long start) {
+    Runnable moves = takePendingMoves(null);
+    gameExecutor.execute(() -> {
+      moves.run();
+      if (dungeon == null) {
+        return;
+      }
+      try {
+        ArrowHitOutcome arrowHitOutcome = dungeon.shootArrow(direction, distance);
+        String message = "";
+        switch (arrowHitOutcome) {
+          case MISS: {
+            message = "\nYour arrow goes whistling through the dungeon "
+                    + "and there's a clunk "
+                    + "as it falls to the ground after hitting a cave wall";
+            break;
           }
-          if (!message.toString().equals("You moved ")) {
-            view.showMessage(message.toString());
+          case INJURED: {
+            message = "\nYou hear a painful roar in the distance. "
+                    + "It seems your arrow hit an Otyugh";
+            break;
           }
-          view.refresh();
-        } catch (IllegalArgumentException iae) {
-          view.showMessage(iae.getMessage());
-        } catch (IllegalStateException ise) {
-          //Do nothing
+          case KILLED: {
+            message = "\nYou hear a painful roar and wild thrashing in the "
+                    + "darkness and then silence. "
+                    + "It seems you've killed an Otyugh";
+            break;
+          }
+          default: {
+            message = "\nYour arrow goes whistling through the dungeon "
+                    + "and there's a clunk "
+                    + "as it falls to the ground after hitting a cave wall";
+          }
+        }
+        publish(message, PlayerAction.SHOOT, start);
+      } catch (IllegalArgumentException | IllegalStateException iae) {
+        viewExecutor.execute(() -> view.showMessage(iae.getMessage()));
+      }
+    });
+  }
+
+  private void handleKey(int keyCode, long start) {
+    if (dungeon == null) {
+      return;
+    }
+    PlayerAction action = null;
+    try {
+      StringBuilder message = new StringBuilder();
+      if (keyCode == 65) {
+        if (dungeon.getPlayerCurrentLocation().hasArrows()) {
+          dungeon.playerPickArrows();
+          message.append("You picked up arrows");
+          action = PlayerAction.PICK_ARROWS;
+        }
+        else {
+          message.append("There are no arrows to pickup");
+        }
+      } else if (keyCode == 84) {
+        if (dungeon.getPlayerCurrentLocation().hasTreasure()) {
+          dungeon.playerPickTreasure();
+          message.append("You picked up some treasure");
+          action = PlayerAction.PICK_TREASURE;
+        }
+        else {
+          message.append("There is no treasure to pickup");
+        }
+      }
+      publish(message.length() == 0 ? null : message.toString(), action, start);
+    } catch (IllegalArgumentException iae) {
+      viewExecutor.execute(() -> view.showMessage(iae.getMessage()));
+    } catch (IllegalStateException ise) {
+      //Do nothing
+    }
+  }
+
+  //Adds the move to the pending path and, unless a path is already being moved or drawn, moves
+  //it on the game thread.
+  private void queueMove(Move move, long start) {
+    synchronized (pendingMoves) {
+      if (pendingMoves.isEmpty()) {
+        pendingStart = start;
+      }
+      pendingMoves.add(move);
+      if (movesScheduled) {
+        return;
+      }
+      movesScheduled = true;
+    }
+    gameExecutor.execute(this::movePending);
+  }
+
+  //Runs on the game thread, taking the moves of the keys released while it was queued.
+  private void movePending() {
+    takePendingMoves(this::finishMoves).run();
+  }
+
+  //Takes the pending path and returns the task that moves it on the game thread. Every other
+  //action takes the path when it is submitted and moves it first, so the keys stay in order.
+  private Runnable takePendingMoves(Runnable painted) {
+    Move[] path;
+    long start;
+    synchronized (pendingMoves) {
+      path = pendingMoves.toArray(new Move[0]);
+      start = pendingStart;
+      pendingMoves.clear();
+    }
+    return () -> movePath(path, start, painted);
+  }
+
+  //Runs on the game thread. Moves the path, if any, then runs painted, if any, on the view thread
+  //once it is drawn. The latency is measured from the first key of the path.
+  private void movePath(Move[] path, long start, Runnable painted) {
+    if (dungeon == null || path.length == 0) {
+      if (painted != null) {
+        viewExecutor.execute(painted);
+      }
+      return;
+    }
+    int moves;
+    try {
+      moves = dungeon.movePlayer(path);
+    } catch (IllegalStateException ise) {
+      if (painted != null) {
+        viewExecutor.execute(painted);
+      }
+      return;
+    }
+    StringBuilder message = new StringBuilder();
+    if (moves > 0) {
+      message.append("You moved ").append(path[0]);
+      for (int i = 1; i < moves; i++) {
+        message.append(", ").append(path[i]);
+      }
+    }
+    if (moves < path.length && !dungeon.isGameOver()) {
+      if (moves > 0) {
+        message.append("\n");
+      }
+      message.append("Provided move is not a valid move ").append(path[moves]);
+    }
+    if (moves == 0) {
+      viewExecutor.execute(() -> {
+        view.showMessage(message.toString());
+        if (painted != null) {
+          painted.run();
         }
+      });
+    } else {
+      publish(message.toString(), PlayerAction.MOVE_KEY, start, painted);
+    }
+  }
+
+  //Runs on the view thread once a path has been drawn, moving the keys released meanwhile.
+  private void finishMoves() {
+    synchronized (pendingMoves) {
+      if (pendingMoves.isEmpty()) {
+        movesScheduled = false;
+        return;
       }
     }
+    gameExecutor.execute(this::movePending);
+  }
+
+  //Shows the message, if any, and refreshes the view on the view thread. The latency of the
+  //action, if any, is recorded by a task queued behind the paint requested by the refresh.
+  private void publish(String message, PlayerAction action, long start) {
+    publish(message, action, start, null);
+  }
+
+  //Same as above, then runs painted, if any, on the view thread after the latency is recorded.
+  private void publish(String message, PlayerAction action, long start, Runnable painted) {
+    viewExecutor.execute(() -> {
+      if (message != null) {
+        view.showMessage(message);
+      }
+      view.refresh();
+      if (action != null || painted != null) {
+        viewExecutor.execute(() -> {
+          if (action != null) {
+            latency.record(action, start);
+          }
+          if (painted != null) {
+            painted.run();
+          }
+        });
+      }
+    });
   }
 
-  private void createGame() {
-    this.dungeon = new DungeonModel(
-            rows, columns, wrapped, interconnectivity, treasureAndArrowPercentage, numberOfMonsters,
-            randomizer);
+  //Runs on the game thread.
+  private void createGame(Dungeon dungeon, PlayerAction action, long start) {
+    this.dungeon = dungeon;
     this.modelCopy = new DungeonModel(dungeon);
     view.setSource(dungeon);
-    view.showMessage("Welcome to the dungeons\nYou can use arrow keys or mouse for navigation\nA "
+    publish("Welcome to the dungeons\nYou can use arrow keys or mouse for navigation\nA "
             + "to pickup arrows\nT to pickup treasure\nCtrl + arrow key to shoot in that "
-            + "direction");
-    view.refresh();
+            + "direction", action, start);
   }
 
 }
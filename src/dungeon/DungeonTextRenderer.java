@@ -0,0 +1,159 @@
+package dungeon;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.List;
+
+/**
+ * DungeonTextRenderer draws a {@link ReadOnlyDungeon} as text, one row of the maze at a time.
+ * Every row of the maze is two lines of text. The first line has a | above every cell with a
+ * NORTH exit. The second line has the cells, each with an optional marker and its contents
+ * followed by -- if the cell has an EAST exit. The markers are S for the start, $ for the player
+ * at the start, P for the player, X for the end, * for the player at the end and M for the
+ * player at the end with a monster. The contents are M if the cell has a monster, otherwise the
+ * smell level from 0 to 2. The map is followed by the number of exits drawn.
+ * Lines are built in a buffer that is reused for every line and then written to the output, so
+ * the memory used does not depend on the number of rows rendered.
+ */
+public final class DungeonTextRenderer {
+  //Widest cell of a line: a marker, the contents and an exit.
+  private static final int CELL_WIDTH = 4;
+
+  private final ReadOnlyDungeon dungeon;
+  private char[] line;
+  private CharBuffer lineView;
+
+  /**
+   * Creates a renderer for the provided dungeon.
+   *
+   * @param dungeon the dungeon to render.
+   * @throws IllegalArgumentException if dungeon is null.
+   */
+  public DungeonTextRenderer(ReadOnlyDungeon dungeon) throws IllegalArgumentException {
+    if (dungeon == null) {
+      throw new IllegalArgumentException("Dungeon cannot be null");
+    }
+    this.dungeon = dungeon;
+    this.line = new char[0];
+    this.lineView = CharBuffer.wrap(line);
+  }
+
+  /**
+   * Renders the whole dungeon.
+   *
+   * @param out where to write the text.
+   * @return the number of exits drawn.
+   * @throws IOException              if the text cannot be written.
+   * @throws IllegalArgumentException if out is null.
+   */
+  public int render(Appendable out) throws IOException, IllegalArgumentException {
+    return render(out, 0, 0, dungeon.rows(), dungeon.columns());
+  }
+
+  /**
+   * Renders the rectangular window of the dungeon starting at the provided row and column.
+   * Exits that lead out of the window are drawn the same way as exits inside it.
+   *
+   * @param out         where to write the text.
+   * @param firstRow    the first row of the window.
+   * @param firstColumn the first column of the window.
+   * @param rows        the number of rows in the window.
+   * @param columns     the number of columns in the window.
+   * @return the number of exits drawn.
+   * @throws IOException              if the text cannot be written.
+   * @throws IllegalArgumentException if out is null or the window is empty or not inside the
+   *                                  dungeon.
+   */
+  public int render(Appendable out, int firstRow, int firstColumn, int rows, int columns)
+          throws IOException, IllegalArgumentException {
+    if (out == null) {
+      throw new IllegalArgumentException("Output cannot be null");
+    }
+    if (firstRow < 0 || firstColumn < 0 || rows <= 0 || columns <= 0
+            || rows > dungeon.rows() - firstRow || columns > dungeon.columns() - firstColumn) {
+      throw new IllegalArgumentException("Please provide a window inside the dungeon");
+    }
+    if (line.length < columns * CELL_WIDTH + 1) {
+      line = new char[columns * CELL_WIDTH + 1];
+      lineView = CharBuffer.wrap(line);
+    }
+    int start = getCell(dungeon.getStartLocation());
+    int end = getCell(dungeon.getEndLocation());
+    int player = getCell(dungeon.getPlayerCurrentLocation());
+    int count = 0;
+    for (int row = firstRow; row < firstRow + rows; row++) {
+      List<Location> locations = dungeon.getRow(row);
+      int length = 0;
+      line[length++] = '\n';
+      for (int column = firstColumn; column < firstColumn + columns; column++) {
+        if (locations.get(column).hasMove(Move.NORTH)) {
+          line[length++] = '|';
+          count++;
+        } else {
+          line[length++] = ' ';
+        }
+        line[length++] = ' ';
+        line[length++] = ' ';
+      }
+      write(out, length);
+      length = 0;
+      line[length++] = '\n';
+      for (int column = firstColumn; column < firstColumn + columns; column++) {
+        Location location = locations.get(column);
+        int cell = row * dungeon.columns() + column;
+        boolean hasMonster = location.hasMonster();
+        if (cell == start) {
+          line[length++] = cell == player ? '$' : 'S';
+        } else if (cell == end && cell == player) {
+          line[length++] = hasMonster ? 'M' : '*';
+        } else if (cell == player) {
+          line[length++] = 'P';
+        } else if (cell == end) {
+          line[length++] = 'X';
+        }
+        if (hasMonster) {
+          line[length++] = 'M';
+        } else {
+          line[length++] = getSmellCharacter(dungeon.getSmell(location));
+        }
+        if (location.hasMove(Move.EAST)) {
+          line[length++] = '-';
+          line[length++] = '-';
+          count++;
+        } else {
+          line[length++] = ' ';
+          line[length++] = ' ';
+        }
+      }
+      write(out, length);
+    }
+    out.append("\n\nNumber of edges: ").append(String.valueOf(count));
+    return count;
+  }
+
+  private void write(Appendable out, int length) throws IOException {
+    if (out instanceof Writer) {
+      ((Writer) out).write(line, 0, length);
+    } else {
+      out.append(lineView, 0, length);
+    }
+  }
+
+  private int getCell(Location location) {
+    return location.getRow() * dungeon.columns() + location.getColumn();
+  }
+
+  private static char getSmellCharacter(SmellLevel smell) {
+    switch (smell) {
+      case NONE:
+        return '0';
+      case LESS:
+        return '1';
+      case MORE:
+        return '2';
+      default:
+        return 'N';
+    }
+  }
+}
@@ -33,7 +33,8 @@ public interface DungeonView {
   void makeVisible();
 
   /**
-   * Set the source model of game state for this view.
+   * Set the source model of game state for this view. Called on the thread running the actions
+   * of the dungeon, which is the only thread the view may read the dungeon on.
    *
    * @param dungeon the source model that represents game state.
    * @throws IllegalArgumentException if provided model is null.
@@ -57,4 +58,19 @@ public interface DungeonView {
    * Shows the help message for using this game.
    */
   void showHelp();
+
+  /**
+   * Shows that the game is busy, such as generating a new dungeon, until
+   * {@link #hideProgress()} is called. The user can cancel the work from the progress.
+   *
+   * @param message what the game is busy with.
+   * @param cancel  run on the view thread when the user cancels.
+   * @throws IllegalArgumentException if message or cancel is null.
+   */
+  void showProgress(String message, Runnable cancel) throws IllegalArgumentException;
+
+  /**
+   * Hides the progress shown by {@link #showProgress(String, Runnable)}.
+   */
+  void hideProgress();
 }
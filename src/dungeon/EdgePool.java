@@ -0,0 +1,116 @@
+package dungeon;
+
+/*
+ * Represents a packed store of maze edges.
+ * Each edge is kept as two cell ids (row * columns + column) and a direction byte, so filling
+ * the pool allocates no objects per edge. Edges are drawn by their position among the edges that
+ * have not been drawn yet through a {@link DrawTree}, so a draw never shifts the remaining
+ * elements.
+ */
+//package-private
+final class EdgePool {
+  private static final Move[] MOVES = Move.values();
+
+  private final int[] cellsA;
+  private final int[] cellsB;
+  private final byte[] moves;
+  private int size;
+  private DrawTree drawTree;
+
+  /**
+   * Creates an empty edge pool that can hold the given number of edges.
+   *
+   * @param capacity the maximum number of edges in this pool.
+   * @throws IllegalArgumentException if capacity is negative.
+   */
+  public EdgePool(int capacity) throws IllegalArgumentException {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity cannot be negative");
+    }
+    this.cellsA = new int[capacity];
+    this.cellsB = new int[capacity];
+    this.moves = new byte[capacity];
+    this.size = 0;
+    this.drawTree = null;
+  }
+
+  /**
+   * Adds an edge to the end of this pool.
+   *
+   * @param cellA the cell id the edge starts from.
+   * @param cellB the cell id the edge leads to.
+   * @param move  the direction of the edge from cellA to cellB.
+   * @throws IllegalArgumentException if move is null.
+   * @throws IllegalStateException    if the pool is full or edges have already been drawn.
+   */
+  public void add(int cellA, int cellB, Move move) throws IllegalArgumentException,
+          IllegalStateException {
+    if (move == null) {
+      throw new IllegalArgumentException("Move cannot be null");
+    }
+    if (size == cellsA.length) {
+      throw new IllegalStateException("Edge pool is full");
+    }
+    if (drawTree != null) {
+      throw new IllegalStateException("Cannot add edges after drawing has started");
+    }
+    cellsA[size] = cellA;
+    cellsB[size] = cellB;
+    moves[size] = (byte) move.ordinal();
+    size++;
+  }
+
+  /**
+   * Returns the number of edges that have not been drawn yet.
+   *
+   * @return number of remaining edges.
+   */
+  public int remaining() {
+    return drawTree == null ? size : drawTree.remaining();
+  }
+
+  /**
+   * Removes the edge at the given position among the remaining edges, in insertion order.
+   * Drawing index i gives the same edge as removing index i from a list of the remaining edges.
+   *
+   * @param index position of the edge among the remaining edges.
+   * @return the slot of the drawn edge, used to read its cells and move.
+   * @throws IllegalArgumentException if index is not between 0 and remaining - 1.
+   */
+  public int draw(int index) throws IllegalArgumentException {
+    if (drawTree == null) {
+      drawTree = new DrawTree(size);
+    }
+    return drawTree.draw(index);
+  }
+
+  /**
+   * Returns the cell id the edge in the given slot starts from.
+   *
+   * @param slot the slot of the edge.
+   * @return the cell id.
+   */
+  public int getCellA(int slot) {
+    return cellsA[slot];
+  }
+
+  /**
+   * Returns the cell id the edge in the given slot leads to.
+   *
+   * @param slot the slot of the edge.
+   * @return the cell id.
+   */
+  public int getCellB(int slot) {
+    return cellsB[slot];
+  }
+
+  /**
+   * Returns the direction of the edge in the given slot.
+   *
+   * @param slot the slot of the edge.
+   * @return the {@link Move} from the first cell to the second cell.
+   */
+  public Move getMove(int slot) {
+    return MOVES[moves[slot]];
+  }
+}
@@ -0,0 +1,117 @@
+package dungeon;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram counts durations in nanoseconds so their percentiles can be read while more
+ * durations are recorded. Durations below 16 get a bucket each, larger ones go into 16 buckets
+ * per power of two, so a percentile is at most 1/16 above the real duration. Recording only
+ * updates atomic counters and never blocks, so it can be called from any thread.
+ */
+public final class LatencyHistogram {
+  private static final int SUB_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray buckets;
+  private final AtomicLong count;
+  private final AtomicLong max;
+
+  /**
+   * Creates an empty histogram.
+   */
+  public LatencyHistogram() {
+    this.buckets = new AtomicLongArray(BUCKETS);
+    this.count = new AtomicLong();
+    this.max = new AtomicLong();
+  }
+
+  /**
+   * Records a duration.
+   *
+   * @param nanos the duration in nanoseconds.
+   * @throws IllegalArgumentException if nanos is negative.
+   */
+  public void record(long nanos) throws IllegalArgumentException {
+    if (nanos < 0) {
+      throw new IllegalArgumentException("Duration cannot be negative");
+    }
+    buckets.incrementAndGet(getBucket(nanos));
+    count.incrementAndGet();
+    max.accumulateAndGet(nanos, Math::max);
+  }
+
+  /**
+   * Returns the number of durations recorded.
+   *
+   * @return the number of durations.
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * Returns the longest duration recorded.
+   *
+   * @return the longest duration in nanoseconds, 0 if nothing was recorded.
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns the duration that the provided percentage of the recorded durations do not exceed.
+   *
+   * @param percentile the percentage, from 0 to 100.
+   * @return the duration in nanoseconds, 0 if nothing was recorded.
+   * @throws IllegalArgumentException if percentile is not between 0 and 100.
+   */
+  public long getPercentile(double percentile) throws IllegalArgumentException {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100");
+    }
+    long total = count.get();
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += buckets.get(bucket);
+      if (seen >= rank) {
+        return Math.min(getHighestValue(bucket), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Removes every recorded duration. Durations recorded while resetting may be partly kept.
+   */
+  public void reset() {
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      buckets.set(bucket, 0);
+    }
+    count.set(0);
+    max.set(0);
+  }
+
+  private static int getBucket(long nanos) {
+    if (nanos < SUB_BUCKETS) {
+      return (int) nanos;
+    }
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+    int mantissa = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BITS + 1) * SUB_BUCKETS + mantissa;
+  }
+
+  private static long getHighestValue(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,115 @@
+package dungeon;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LatencyMonitor keeps a {@link LatencyHistogram} for every {@link PlayerAction}, measuring the
+ * time from an input event until the view has been refreshed and painted. Recording is lock
+ * free, so the durations can be recorded on any thread while they are being read.
+ */
+public final class LatencyMonitor {
+  private final Map<PlayerAction, LatencyHistogram> histograms;
+
+  /**
+   * Creates a monitor with an empty histogram for every action.
+   */
+  public LatencyMonitor() {
+    this.histograms = new EnumMap<>(PlayerAction.class);
+    for (PlayerAction action : PlayerAction.values()) {
+      histograms.put(action, new LatencyHistogram());
+    }
+  }
+
+  /**
+   * Records the time from the provided start until now for the action.
+   *
+   * @param action     the action of the player.
+   * @param startNanos the {@link System#nanoTime()} when the input event was received.
+   * @throws IllegalArgumentException if action is null.
+   */
+  public void record(PlayerAction action, long startNanos) throws IllegalArgumentException {
+    if (action == null) {
+      throw new IllegalArgumentException("Action cannot be null");
+    }
+    histograms.get(action).record(Math.max(0, System.nanoTime() - startNanos));
+  }
+
+  /**
+   * Returns the histogram of the action.
+   *
+   * @param action the action of the player.
+   * @return the histogram.
+   * @throws IllegalArgumentException if action is null.
+   */
+  public LatencyHistogram getHistogram(PlayerAction action) throws IllegalArgumentException {
+    if (action == null) {
+      throw new IllegalArgumentException("Action cannot be null");
+    }
+    return histograms.get(action);
+  }
+
+  /**
+   * Removes the recorded durations of every action.
+   */
+  public void reset() {
+    for (LatencyHistogram histogram : histograms.values()) {
+      histogram.reset();
+    }
+  }
+
+  /**
+   * Writes the count, p50, p99 and max latency in microseconds of every action as CSV, with a
+   * header line.
+   *
+   * @param out where to write the CSV.
+   * @throws IOException              if the CSV cannot be written.
+   * @throws IllegalArgumentException if out is null.
+   */
+  public void writeCsv(Appendable out) throws IOException, IllegalArgumentException {
+    if (out == null) {
+      throw new IllegalArgumentException("Output cannot be null");
+    }
+    out.append("action,count,p50_us,p99_us,max_us\n");
+    for (Map.Entry<PlayerAction, LatencyHistogram> entry : histograms.entrySet()) {
+      LatencyHistogram histogram = entry.getValue();
+      out.append(entry.getKey().name()).append(',')
+              .append(String.valueOf(histogram.getCount())).append(',')
+              .append(String.valueOf(toMicros(histogram.getPercentile(50)))).append(',')
+              .append(String.valueOf(toMicros(histogram.getPercentile(99)))).append(',')
+              .append(String.valueOf(toMicros(histogram.getMax()))).append('\n');
+    }
+  }
+
+  /**
+   * Returns the count, p50, p99 and max latency in milliseconds of every action that has been
+   * recorded, one action per line.
+   *
+   * @return the summary of the latencies.
+   */
+  @Override
+  public String toString() {
+    StringBuilder summary = new StringBuilder("Latency from input to paint (ms)");
+    for (Map.Entry<PlayerAction, LatencyHistogram> entry : histograms.entrySet()) {
+      LatencyHistogram histogram = entry.getValue();
+      if (histogram.getCount() == 0) {
+        continue;
+      }
+      summary.append(String.format(Locale.ROOT, "\n%s: count %d, p50 %.2f, p99 %.2f, max %.2f",
+              entry.getKey(), histogram.getCount(), toMillis(histogram.getPercentile(50)),
+              toMillis(histogram.getPercentile(99)), toMillis(histogram.getMax())));
+    }
+    return summary.toString();
+  }
+
+  private static long toMicros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1e6;
+  }
+}
@@ -17,6 +17,22 @@ public interface Location {
    */
   Set<Move> getNextMoves();
 
+  /**
+   * Returns the possible next moves from this LocationNode as a bit mask.
+   *
+   * @return mask with the {@link Move#getMask()} bit of every possible next move set.
+   */
+  int getMoveMask();
+
+  /**
+   * Checks whether the provided move is a possible next move from this LocationNode.
+   *
+   * @param move the move to check.
+   * @return true if the move is possible from this location.
+   * @throws IllegalArgumentException if the provided move is null.
+   */
+  boolean hasMove(Move move) throws IllegalArgumentException;
+
   /**
    * Returns the treasure in this LocationNode.
    *
@@ -24,6 +40,22 @@ public interface Location {
    */
   Map<Treasure, Integer> getTreasure();
 
+  /**
+   * Returns the quantity of the provided treasure type in this LocationNode.
+   *
+   * @param treasure the treasure type.
+   * @return quantity of the treasure, 0 if there is none.
+   * @throws IllegalArgumentException if the provided treasure type is null.
+   */
+  int getTreasureCount(Treasure treasure) throws IllegalArgumentException;
+
+  /**
+   * Returns the total quantity of all treasure types in this LocationNode.
+   *
+   * @return total quantity of treasure.
+   */
+  int getTotalTreasure();
+
   /**
    * Returns the row position of this location node in maze grid.
    *
@@ -1,9 +1,9 @@
 package dungeon;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 
 /**
  * Represents an instance of {@link Location} in the dungeon maze.
@@ -13,10 +13,10 @@ import java.util.TreeSet;
  */
 public final class LocationNode implements LocationPrivate {
 
-  private final Set<Move> nextMoves;
-  private final Map<Treasure, Integer> treasure;
+  private final int[] treasure;
   private final int row;
   private final int column;
+  private int moveMask;
   private Monster monster;
   private int arrows;
   private boolean explored;
@@ -30,8 +30,8 @@ public final class LocationNode implements LocationPrivate {
   public LocationNode(int row, int column) {
     this.row = row;
     this.column = column;
-    this.nextMoves = new TreeSet<>();
-    this.treasure = new HashMap<>();
+    this.moveMask = 0;
+    this.treasure = new int[Treasure.values().length];
     this.monster = null;
     this.arrows = 0;
     this.explored = false;
@@ -46,8 +46,11 @@ public final class LocationNode implements LocationPrivate {
   public LocationNode(LocationPrivate locationPrivate) {
     this.row = locationPrivate.getRow();
     this.column = locationPrivate.getColumn();
-    this.nextMoves = locationPrivate.getNextMoves();
-    this.treasure = locationPrivate.getTreasure();
+    this.moveMask = locationPrivate.getMoveMask();
+    this.treasure = new int[Treasure.values().length];
+    for (Treasure treasureType : Treasure.values()) {
+      this.treasure[treasureType.ordinal()] = locationPrivate.getTreasureCount(treasureType);
+    }
     this.monster = null;
     if (locationPrivate.hasMonster()) {
       this.monster = new Otyugh();
@@ -56,6 +59,14 @@ public final class LocationNode implements LocationPrivate {
     this.explored = locationPrivate.isExplored();
   }
 
+  //Copies the node exactly. Unlike the copy constructor, a wounded or dead monster is copied
+  //as it is.
+  LocationNode duplicate() {
+    LocationNode copy = new LocationNode(this);
+    copy.monster = monster == null ? null : new Otyugh(monster.getHealth());
+    return copy;
+  }
+
   /**
    * Add the provided move to the list of possible next moves from this LocationNode.
    *
@@ -68,7 +79,7 @@ public final class LocationNode implements LocationPrivate {
     if (move == null) {
       throw new IllegalArgumentException("Move cannot be null");
     }
-    nextMoves.add(move);
+    moveMask |= move.getMask();
   }
 
   /**
@@ -88,13 +99,7 @@ public final class LocationNode implements LocationPrivate {
     if (treasureQuantity < 0) {
       throw new IllegalArgumentException("Treasure quantity cannot be less than 0");
     }
-    Integer integer = this.treasure.get(treasure);
-    if (integer == null) {
-      integer = treasureQuantity;
-    } else {
-      integer += treasureQuantity;
-    }
-    this.treasure.put(treasure, integer);
+    this.treasure[treasure.ordinal()] += treasureQuantity;
   }
 
   /**
@@ -113,29 +118,63 @@ public final class LocationNode implements LocationPrivate {
     if (treasure == null) {
       throw new IllegalArgumentException("Treasure cannot be null");
     }
-    Integer integer = this.treasure.get(treasure);
-    if (integer == null || treasureQuantity < 0 || integer - treasureQuantity < 0) {
+    int quantity = this.treasure[treasure.ordinal()];
+    if (quantity == 0 || treasureQuantity < 0 || quantity - treasureQuantity < 0) {
       throw new IllegalArgumentException(
               "No such treasure or treasure quantity insufficient or treasure to be picked is "
                       + "negative");
-    } else {
-      integer -= treasureQuantity;
-    }
-    if (integer == 0) {
-      this.treasure.remove(treasure);
-    } else {
-      this.treasure.put(treasure, integer);
     }
+    this.treasure[treasure.ordinal()] = quantity - treasureQuantity;
+  }
+
+  /**
+   * Picks all the treasure in the location.
+   *
+   * @return quantity of every treasure type picked, indexed by {@link Treasure} ordinal.
+   */
+  //package-private due to interface
+  @Override
+  public int[] pickAllTreasure() {
+    int[] picked = treasure.clone();
+    Arrays.fill(treasure, 0);
+    return picked;
   }
 
   /**
    * Returns the possible next moves from this LocationNode.
    *
-   * @return a set of {@link Move}s
+   * @return a new set of {@link Move}s that can be modified by the caller.
    */
   @Override
   public Set<Move> getNextMoves() {
-    return new TreeSet<>(nextMoves);
+    Set<Move> nextMoves = EnumSet.noneOf(Move.class);
+    nextMoves.addAll(Move.fromMask(moveMask));
+    return nextMoves;
+  }
+
+  /**
+   * Returns the possible next moves from this LocationNode as a bit mask.
+   *
+   * @return mask with the {@link Move#getMask()} bit of every possible next move set.
+   */
+  @Override
+  public int getMoveMask() {
+    return moveMask;
+  }
+
+  /**
+   * Checks whether the provided move is a possible next move from this LocationNode.
+   *
+   * @param move the move to check.
+   * @return true if the move is possible from this location.
+   * @throws IllegalArgumentException if the provided move is null.
+   */
+  @Override
+  public boolean hasMove(Move move) throws IllegalArgumentException {
+    if (move == null) {
+      throw new IllegalArgumentException("Move cannot be null");
+    }
+    return (moveMask & move.getMask()) != 0;
   }
 
   /**
@@ -145,7 +184,36 @@ public final class LocationNode implements LocationPrivate {
    */
   @Override
   public Map<Treasure, Integer> getTreasure() {
-    return new HashMap<>(treasure);
+    return Treasure.toMap(treasure);
+  }
+
+  /**
+   * Returns the quantity of the provided treasure type in this LocationNode.
+   *
+   * @param treasure the treasure type.
+   * @return quantity of the treasure, 0 if there is none.
+   * @throws IllegalArgumentException if the provided treasure type is null.
+   */
+  @Override
+  public int getTreasureCount(Treasure treasure) throws IllegalArgumentException {
+    if (treasure == null) {
+      throw new IllegalArgumentException("Treasure cannot be null");
+    }
+    return this.treasure[treasure.ordinal()];
+  }
+
+  /**
+   * Returns the total quantity of all treasure types in this LocationNode.
+   *
+   * @return total quantity of treasure.
+   */
+  @Override
+  public int getTotalTreasure() {
+    int total = 0;
+    for (int quantity : treasure) {
+      total += quantity;
+    }
+    return total;
   }
 
   /**
@@ -175,14 +243,7 @@ public final class LocationNode implements LocationPrivate {
    */
   @Override
   public boolean hasTreasure() {
-    if (treasure.size() > 0) {
-      for (Integer quantity : treasure.values()) {
-        if (quantity > 0) {
-          return true;
-        }
-      }
-    }
-    return false;
+    return getTotalTreasure() > 0;
   }
 
   /**
@@ -216,7 +277,7 @@ public final class LocationNode implements LocationPrivate {
    */
   @Override
   public boolean isCave() {
-    return nextMoves.size() != 2;
+    return Integer.bitCount(moveMask) != 2;
   }
 
   /**
@@ -10,6 +10,9 @@ interface LocationPrivate extends Location {
 
   void pickTreasure(Treasure treasure, int randomTreasureQuantity);
 
+  //Removes all the treasure and returns its quantities indexed by Treasure ordinal.
+  int[] pickAllTreasure();
+
   Monster getMonster();
 
   void setMonster();
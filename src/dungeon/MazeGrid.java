@@ -0,0 +1,29 @@
+package dungeon;
+
+//package-private interface
+//Storage engine for the cells of a dungeon maze. Cells are addressed by row and column and are
+//handed out as LocationPrivate so DungeonModel works the same way with every storage.
+interface MazeGrid {
+
+  int getRows();
+
+  int getColumns();
+
+  LocationPrivate getLocation(int row, int column) throws IllegalArgumentException;
+
+  //Allocation free accessors used on the move path. Cells are row * columns + column and are not
+  //range checked.
+  int getMoveMask(int cell);
+
+  //Returns -1 if there is no monster in the cell.
+  int getMonsterHealth(int cell);
+
+  void setExplored(int cell);
+
+  //Copies the grid for a new game. Living monsters are restored to full health and dead
+  //monsters are removed, the rest of the cell state is copied as is. The copy may share state
+  //with this grid as long as changes to either of them are not visible in the other. Copying
+  //marks the state of this grid as shared, so the grid must not be used by another thread while
+  //it is copied.
+  MazeGrid copy();
+}
@@ -0,0 +1,16 @@
+package dungeon;
+
+/**
+ * Represents the ways a {@link DungeonModel} can store the cells of its maze.
+ */
+public enum MazeStorage {
+  /**
+   * Every cell is a {@link LocationNode} object.
+   */
+  NODES,
+  /**
+   * Cells are packed into primitive arrays and {@link Location}s are created on demand as
+   * lightweight views. Suited to very large dungeons.
+   */
+  COMPACT
+}
@@ -7,7 +7,8 @@ import java.util.Locale;
  */
 public enum MenuItems {
   NEW_GAME("New Game"), RESTART("Restart Same Dungeon"),
-  RESTART_CONFIG("Restart Same Config"), HELP("Help"), QUIT("Quit");
+  RESTART_CONFIG("Restart Same Config"), HELP("Help"), QUIT("Quit"),
+  SHOW_LATENCY("Show Latency"), SAVE_LATENCY("Save Latency");
 
   private final String text;
 
@@ -52,6 +53,12 @@ public enum MenuItems {
       case "QUIT": {
         return QUIT;
       }
+      case "SHOW LATENCY": {
+        return SHOW_LATENCY;
+      }
+      case "SAVE LATENCY": {
+        return SAVE_LATENCY;
+      }
       default: {
         throw new IllegalArgumentException("No value for this shorthand");
       }
@@ -1,5 +1,11 @@
 package dungeon;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Represents the direction of movement possible from a cave.
  */
@@ -9,6 +15,8 @@ public enum Move {
   EAST("E","EAST"),
   WEST("W","WEST");
 
+  private static final List<Set<Move>> MOVE_SETS = createMoveSets();
+
   private final String shortForm;
   private final String fullForm;
 
@@ -45,6 +53,44 @@ public enum Move {
     return shortForm;
   }
 
+  /**
+   * Returns the bit of this move in a move mask, where every move is the bit of its ordinal.
+   *
+   * @return the mask with only this move set.
+   */
+  public int getMask() {
+    return 1 << ordinal();
+  }
+
+  /**
+   * Returns the moves in the provided move mask as a shared read only set.
+   *
+   * @param mask the move mask, a combination of {@link #getMask()} values.
+   * @return the set of moves in the mask in the order of the enum.
+   * @throws IllegalArgumentException if mask has bits that are not moves.
+   */
+  public static Set<Move> fromMask(int mask) throws IllegalArgumentException {
+    if (mask < 0 || mask >= MOVE_SETS.size()) {
+      throw new IllegalArgumentException("Invalid move mask " + mask);
+    }
+    return MOVE_SETS.get(mask);
+  }
+
+  private static List<Set<Move>> createMoveSets() {
+    Move[] moves = values();
+    List<Set<Move>> moveSets = new ArrayList<>(1 << moves.length);
+    for (int mask = 0; mask < 1 << moves.length; mask++) {
+      Set<Move> moveSet = EnumSet.noneOf(Move.class);
+      for (Move move : moves) {
+        if ((mask & move.getMask()) != 0) {
+          moveSet.add(move);
+        }
+      }
+      moveSets.add(Collections.unmodifiableSet(moveSet));
+    }
+    return Collections.unmodifiableList(moveSets);
+  }
+
   /**
    * Returns the full name of this move value.
    *
@@ -0,0 +1,151 @@
+package dungeon;
+
+import java.util.Arrays;
+
+/*
+ * Represents a maze grid where every cell is a LocationNode object.
+ *
+ * Copies of the grid share the rows of nodes instead of duplicating them. A copy only clones the
+ * table of rows, and a row is cloned the first time a grid that shares it hands out one of its
+ * nodes or changes a cell in it. A node handed out can be changed by whoever holds it, so getting
+ * a location clones its row even if it is only read; the allocation free cell accessors only clone
+ * a row when they change it. Rows with a wounded or dead monster are cloned by the copy right away
+ * so its monsters can be restored. The cells holding a monster are found once, on the first copy of
+ * a grid, and shared with all of its copies since monsters are only placed while the dungeon is
+ * built.
+ */
+//package-private
+final class NodeMazeGrid implements MazeGrid {
+  private final LocationNode[][] maze;
+  private final boolean[] ownedRows;
+  private final int rows;
+  private final int columns;
+  private int[] monsterCells;
+
+  /**
+   * Creates a grid of unconnected location nodes.
+   *
+   * @param rows    the number of rows in the grid.
+   * @param columns the number of columns in the grid.
+   * @throws IllegalArgumentException if rows or columns are not positive.
+   */
+  public NodeMazeGrid(int rows, int columns) throws IllegalArgumentException {
+    if (rows <= 0 || columns <= 0) {
+      throw new IllegalArgumentException("Rows and columns must be positive");
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.maze = new LocationNode[rows][];
+    this.ownedRows = new boolean[rows];
+    for (int x = 0; x < rows; x++) {
+      maze[x] = new LocationNode[columns];
+      for (int y = 0; y < columns; y++) {
+        maze[x][y] = new LocationNode(x, y);
+      }
+      ownedRows[x] = true;
+    }
+    this.monsterCells = null;
+  }
+
+  //Shares the rows of the grid. From now on both grids clone the rows they change.
+  private NodeMazeGrid(NodeMazeGrid grid) {
+    this.rows = grid.rows;
+    this.columns = grid.columns;
+    this.maze = grid.maze.clone();
+    this.ownedRows = new boolean[rows];
+    Arrays.fill(grid.ownedRows, false);
+    if (grid.monsterCells == null) {
+      grid.monsterCells = grid.findMonsters();
+    }
+    this.monsterCells = grid.monsterCells;
+    for (int cell : monsterCells) {
+      int health = getMonsterHealth(cell);
+      if (health >= 0 && health != Otyugh.DEFAULT_HEALTH) {
+        restoreRow(cell / columns);
+      }
+    }
+  }
+
+  @Override
+  public int getRows() {
+    return rows;
+  }
+
+  @Override
+  public int getColumns() {
+    return columns;
+  }
+
+  @Override
+  public LocationPrivate getLocation(int row, int column) throws IllegalArgumentException {
+    if (row < 0 || column < 0 || row >= rows || column >= columns) {
+      throw new IllegalArgumentException("Please provide valid coordinates");
+    }
+    return ownRow(row)[column];
+  }
+
+  @Override
+  public int getMoveMask(int cell) {
+    return getCell(cell).getMoveMask();
+  }
+
+  @Override
+  public int getMonsterHealth(int cell) {
+    Monster monster = getCell(cell).getMonster();
+    return monster == null ? -1 : monster.getHealth();
+  }
+
+  @Override
+  public void setExplored(int cell) {
+    if (!getCell(cell).isExplored()) {
+      ownRow(cell / columns)[cell % columns].setExplored();
+    }
+  }
+
+  @Override
+  public MazeGrid copy() {
+    return new NodeMazeGrid(this);
+  }
+
+  private LocationNode getCell(int cell) {
+    return maze[cell / columns][cell % columns];
+  }
+
+  private LocationNode[] ownRow(int row) {
+    if (!ownedRows[row]) {
+      LocationNode[] copy = new LocationNode[columns];
+      for (int column = 0; column < columns; column++) {
+        copy[column] = maze[row][column].duplicate();
+      }
+      maze[row] = copy;
+      ownedRows[row] = true;
+    }
+    return maze[row];
+  }
+
+  //Clones the row with the copy constructor of the nodes, which restores their monsters.
+  private void restoreRow(int row) {
+    if (!ownedRows[row]) {
+      LocationNode[] copy = new LocationNode[columns];
+      for (int column = 0; column < columns; column++) {
+        copy[column] = new LocationNode(maze[row][column]);
+      }
+      maze[row] = copy;
+      ownedRows[row] = true;
+    }
+  }
+
+  private int[] findMonsters() {
+    int[] cells = new int[0];
+    int count = 0;
+    for (int cell = 0; cell < rows * columns; cell++) {
+      if (getCell(cell).getMonster() != null) {
+        if (count == cells.length) {
+          cells = Arrays.copyOf(cells, Math.max(4, 2 * count));
+        }
+        cells[count++] = cell;
+      }
+    }
+    return Arrays.copyOf(cells, count);
+  }
+}
@@ -7,12 +7,17 @@ package dungeon;
 final class Otyugh implements Monster {
 
   private int health;
-  private static final int DEFAULT_HEALTH = 2;
+  static final int DEFAULT_HEALTH = 2;
 
   public Otyugh() {
     this.health = DEFAULT_HEALTH;
   }
 
+  //Creates a monster with the health of another one, used to copy a wounded or dead monster.
+  Otyugh(int health) {
+    this.health = health;
+  }
+
   @Override
   public int getHealth() {
     return health;
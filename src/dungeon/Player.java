@@ -16,6 +16,22 @@ public interface Player {
    */
   Map<Treasure, Integer> getTreasure();
 
+  /**
+   * Returns the quantity of the provided treasure type this Player holds.
+   *
+   * @param treasure the treasure type.
+   * @return quantity of the treasure, 0 if there is none.
+   * @throws IllegalArgumentException if the provided treasure type is null.
+   */
+  int getTreasureCount(Treasure treasure) throws IllegalArgumentException;
+
+  /**
+   * Returns the total quantity of all treasure types this Player holds.
+   *
+   * @return total quantity of treasure.
+   */
+  int getTotalTreasure();
+
   /**
    * Checks whether this Player has treasure.
    *
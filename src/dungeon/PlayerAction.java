@@ -0,0 +1,9 @@
+package dungeon;
+
+/**
+ * Represents the kinds of input of the player whose latency is measured by the graphical
+ * controller.
+ */
+public enum PlayerAction {
+  MOVE_KEY, MOVE_CLICK, PICK_ARROWS, PICK_TREASURE, SHOOT, RESTART
+}
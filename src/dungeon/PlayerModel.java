@@ -1,6 +1,5 @@
 package dungeon;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -9,7 +8,7 @@ import java.util.Map;
  * accumulated.
  */
 public class PlayerModel implements PlayerPrivate {
-  private final Map<Treasure, Integer> treasure;
+  private final int[] treasure;
   private int arrows;
   private static final int DEFAULT_ARROWS = 3;
 
@@ -17,10 +16,23 @@ public class PlayerModel implements PlayerPrivate {
    * Creates a new instance of PlayerModel.
    */
   public PlayerModel() {
-    this.treasure = new HashMap<>();
+    this.treasure = new int[Treasure.values().length];
     this.arrows = 3;
   }
 
+  /*
+   * Creates a player holding the provided arrows and treasure, used to restore a saved game.
+   */
+  //package-private
+  PlayerModel(int arrows, int[] treasure) throws IllegalArgumentException {
+    this();
+    if (arrows < 0) {
+      throw new IllegalArgumentException("Arrows cannot be negative");
+    }
+    this.arrows = arrows;
+    addToTreasure(treasure);
+  }
+
   /**
    * Returns the treasure this Player holds.
    *
@@ -28,7 +40,36 @@ public class PlayerModel implements PlayerPrivate {
    */
   @Override
   public Map<Treasure, Integer> getTreasure() {
-    return new HashMap<>(treasure);
+    return Treasure.toMap(treasure);
+  }
+
+  /**
+   * Returns the quantity of the provided treasure type this Player holds.
+   *
+   * @param treasure the treasure type.
+   * @return quantity of the treasure, 0 if there is none.
+   * @throws IllegalArgumentException if the provided treasure type is null.
+   */
+  @Override
+  public int getTreasureCount(Treasure treasure) throws IllegalArgumentException {
+    if (treasure == null) {
+      throw new IllegalArgumentException("Treasure cannot be null");
+    }
+    return this.treasure[treasure.ordinal()];
+  }
+
+  /**
+   * Returns the total quantity of all treasure types this Player holds.
+   *
+   * @return total quantity of treasure.
+   */
+  @Override
+  public int getTotalTreasure() {
+    int total = 0;
+    for (int quantity : treasure) {
+      total += quantity;
+    }
+    return total;
   }
 
   /**
@@ -38,14 +79,7 @@ public class PlayerModel implements PlayerPrivate {
    */
   @Override
   public boolean hasTreasure() {
-    if (treasure.size() > 0) {
-      for (Integer quantity : treasure.values()) {
-        if (quantity > 0) {
-          return true;
-        }
-      }
-    }
-    return false;
+    return getTotalTreasure() > 0;
   }
 
   /**
@@ -86,13 +120,30 @@ public class PlayerModel implements PlayerPrivate {
     if (treasureQuantity < 0) {
       throw new IllegalArgumentException("Treasure quantity cannot be less than 0");
     }
-    Integer integer = this.treasure.get(treasure);
-    if (integer == null) {
-      integer = treasureQuantity;
-    } else {
-      integer += treasureQuantity;
+    this.treasure[treasure.ordinal()] += treasureQuantity;
+  }
+
+  /**
+   * Adds the provided quantities of every treasure type to the player's treasure.
+   *
+   * @param treasureQuantities quantity of every treasure type, indexed by {@link Treasure}
+   *                           ordinal.
+   * @throws IllegalArgumentException if quantities are null, of the wrong length or negative.
+   */
+  //package-private due to interface
+  @Override
+  public void addToTreasure(int[] treasureQuantities) throws IllegalArgumentException {
+    if (treasureQuantities == null || treasureQuantities.length != treasure.length) {
+      throw new IllegalArgumentException("Please provide a quantity for every treasure type");
+    }
+    for (int quantity : treasureQuantities) {
+      if (quantity < 0) {
+        throw new IllegalArgumentException("Treasure quantity cannot be less than 0");
+      }
+    }
+    for (int i = 0; i < treasure.length; i++) {
+      treasure[i] += treasureQuantities[i];
     }
-    this.treasure.put(treasure, integer);
   }
 
   /**
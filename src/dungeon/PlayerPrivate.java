@@ -6,6 +6,9 @@ interface PlayerPrivate extends Player {
 
   void addToTreasure(Treasure treasure, int randomTreasureQuantity) throws IllegalArgumentException;
 
+  //Adds treasure quantities indexed by Treasure ordinal.
+  void addToTreasure(int[] treasureQuantities) throws IllegalArgumentException;
+
   void fireArrow();
 
   void pickArrows(int arrows);
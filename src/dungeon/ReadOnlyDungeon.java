@@ -15,6 +15,39 @@ public interface ReadOnlyDungeon {
    */
   List<List<Location>> getMaze();
 
+  /**
+   * Returns the number of rows in the maze of the dungeon.
+   *
+   * @return number of rows.
+   */
+  int rows();
+
+  /**
+   * Returns the number of columns in the maze of the dungeon.
+   *
+   * @return number of columns.
+   */
+  int columns();
+
+  /**
+   * Returns the location at the provided row and column of the maze without copying the maze.
+   *
+   * @param row    the row of the location.
+   * @param column the column of the location.
+   * @return the {@link Location} at the row and column.
+   * @throws IllegalArgumentException if row or column is outside the maze.
+   */
+  Location getLocation(int row, int column) throws IllegalArgumentException;
+
+  /**
+   * Returns a read only view of a row of the maze without copying the row.
+   *
+   * @param row the row of the maze.
+   * @return the locations of the row as a List of {@link Location} ordered by column.
+   * @throws IllegalArgumentException if row is outside the maze.
+   */
+  List<Location> getRow(int row) throws IllegalArgumentException;
+
   /**
    * Returns the starting location/cave in the maze.
    *
@@ -80,4 +113,19 @@ public interface ReadOnlyDungeon {
    * @return true if {@link Player} has been killed.
    */
   boolean isPlayerDead();
+
+  /**
+   * Registers a listener that is told about every change made to the dungeon by an action.
+   *
+   * @param listener the listener to register.
+   * @throws IllegalArgumentException if listener is null.
+   */
+  void addDungeonListener(DungeonListener listener) throws IllegalArgumentException;
+
+  /**
+   * Removes a registered listener.
+   *
+   * @param listener the listener to remove.
+   */
+  void removeDungeonListener(DungeonListener listener);
 }
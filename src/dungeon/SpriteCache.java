@@ -0,0 +1,136 @@
+package dungeon;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * Holds the images used by the graphical view, decoded once from the class path and copied into
+ * images compatible with the screen so drawing them can be accelerated. Every image is loaded at
+ * its own size and at every scaled size it is drawn at, before the game starts, so drawing a cell
+ * never decodes or scales an image.
+ */
+//package-private class
+class SpriteCache {
+  private final Map<String, BufferedImage> decoded;
+  private final Map<String, BufferedImage> sprites;
+  private final GraphicsConfiguration configuration;
+
+  /**
+   * Creates an empty cache for the default screen, or for plain images when there is no screen.
+   */
+  SpriteCache() {
+    this.decoded = new HashMap<>();
+    this.sprites = new HashMap<>();
+    this.configuration = GraphicsEnvironment.isHeadless() ? null
+            : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+            .getDefaultConfiguration();
+  }
+
+  /**
+   * Loads the image at the provided class path location at its own size.
+   *
+   * @param path the class path location of the image.
+   * @throws IOException              if the image cannot be read.
+   * @throws IllegalArgumentException if path is null.
+   */
+  void load(String path) throws IOException, IllegalArgumentException {
+    BufferedImage image = decode(path);
+    sprites.put(path, copy(image, image.getWidth(), image.getHeight()));
+  }
+
+  /**
+   * Loads the image at the provided class path location scaled to the provided size.
+   *
+   * @param path   the class path location of the image.
+   * @param width  the width to scale to.
+   * @param height the height to scale to.
+   * @throws IOException              if the image cannot be read.
+   * @throws IllegalArgumentException if path is null or the size is not positive.
+   */
+  void load(String path, int width, int height) throws IOException, IllegalArgumentException {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Size of an image must be positive");
+    }
+    BufferedImage image = decode(path);
+    sprites.put(getKey(path, width, height),
+            copy(image.getScaledInstance(width, height, Image.SCALE_SMOOTH), width, height));
+  }
+
+  /**
+   * Returns the image loaded at its own size.
+   *
+   * @param path the class path location of the image.
+   * @return the image or null if it was not loaded.
+   */
+  BufferedImage get(String path) {
+    return sprites.get(path);
+  }
+
+  /**
+   * Returns the image loaded at the provided size.
+   *
+   * @param path   the class path location of the image.
+   * @param width  the scaled width.
+   * @param height the scaled height.
+   * @return the image or null if it was not loaded at that size.
+   */
+  BufferedImage get(String path, int width, int height) {
+    return sprites.get(getKey(path, width, height));
+  }
+
+  /**
+   * Creates an empty transparent image of the provided size that is compatible with the images
+   * of this cache.
+   *
+   * @param width  the width of the image.
+   * @param height the height of the image.
+   * @return the image.
+   */
+  BufferedImage createImage(int width, int height) {
+    if (configuration == null) {
+      return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+    return configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+  }
+
+  private BufferedImage decode(String path) throws IOException, IllegalArgumentException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path of an image cannot be null");
+    }
+    BufferedImage image = decoded.get(path);
+    if (image == null) {
+      try (InputStream stream = getClass().getResourceAsStream(path)) {
+        if (stream == null) {
+          throw new IOException("Image not found: " + path);
+        }
+        image = ImageIO.read(stream);
+      }
+      if (image == null) {
+        throw new IOException("Not an image: " + path);
+      }
+      decoded.put(path, image);
+    }
+    return image;
+  }
+
+  private BufferedImage copy(Image image, int width, int height) {
+    BufferedImage copy = createImage(width, height);
+    Graphics2D graphics = copy.createGraphics();
+    graphics.drawImage(image, 0, 0, null);
+    graphics.dispose();
+    return copy;
+  }
+
+  private static String getKey(String path, int width, int height) {
+    return path + "@" + width + "x" + height;
+  }
+}
@@ -0,0 +1,172 @@
+package dungeon;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the images of whole cells, composited from the images of a {@link SpriteCache}. A cell can
+ * only look a small number of ways, so the look of a cell is packed into a code and every code
+ * is composited once. The least recently used tiles are dropped once the cache holds capacity
+ * tiles. The code of a cell is 0 while it is unexplored, otherwise its bits are:
+ * <pre>
+ *   0      explored
+ *   1-4    exits, one bit per {@link Move} ordinal
+ *   5      player
+ *   6      arrows
+ *   7-9    treasure, one bit per {@link Treasure} ordinal
+ *   10     monster
+ *   11-12  {@link SmellLevel} ordinal, only used without a monster
+ * </pre>
+ */
+//package-private class
+class TileCache {
+  private static final int EXPLORED = 1;
+  private static final int MOVES_SHIFT = 1;
+  private static final int PLAYER = 1 << 5;
+  private static final int ARROWS = 1 << 6;
+  private static final int TREASURE_SHIFT = 7;
+  private static final int MONSTER = 1 << 10;
+  private static final int SMELL_SHIFT = 11;
+  private static final Treasure[] TREASURES = Treasure.values();
+  private static final SmellLevel[] SMELLS = SmellLevel.values();
+
+  private final SpriteCache sprites;
+  private final int tileSize;
+  private final Map<Integer, BufferedImage> tiles;
+
+  /**
+   * Creates an empty cache of tiles of the provided size.
+   *
+   * @param sprites  the images the tiles are composited from.
+   * @param size     the width and height of a tile.
+   * @param capacity the number of tiles kept.
+   * @throws IllegalArgumentException if sprites is null or size or capacity is not positive.
+   */
+  TileCache(SpriteCache sprites, int size, int capacity) throws IllegalArgumentException {
+    if (sprites == null || size <= 0 || capacity <= 0) {
+      throw new IllegalArgumentException("Please provide sprites and a positive size and "
+              + "capacity");
+    }
+    this.sprites = sprites;
+    this.tileSize = size;
+    this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Packs the look of a cell into a code.
+   *
+   * @param location  the cell.
+   * @param hasPlayer whether the player is in the cell.
+   * @param smell     the smell in the cell.
+   * @return the code of the look of the cell.
+   */
+  static int getCode(Location location, boolean hasPlayer, SmellLevel smell) {
+    if (!location.isExplored()) {
+      return 0;
+    }
+    int code = EXPLORED | location.getMoveMask() << MOVES_SHIFT;
+    if (hasPlayer) {
+      code |= PLAYER;
+    }
+    if (location.hasArrows()) {
+      code |= ARROWS;
+    }
+    if (location.hasTreasure()) {
+      for (Treasure treasure : TREASURES) {
+        if (location.getTreasureCount(treasure) > 0) {
+          code |= 1 << (TREASURE_SHIFT + treasure.ordinal());
+        }
+      }
+    }
+    if (location.hasMonster()) {
+      code |= MONSTER;
+    } else {
+      code |= smell.ordinal() << SMELL_SHIFT;
+    }
+    return code;
+  }
+
+  /**
+   * Returns the tile of the provided code, compositing it if it is not in the cache.
+   *
+   * @param code the code of the look of a cell.
+   * @return the tile.
+   */
+  BufferedImage getTile(int code) {
+    BufferedImage tile = tiles.get(code);
+    if (tile == null) {
+      tile = composite(code);
+      tiles.put(code, tile);
+    }
+    return tile;
+  }
+
+  /**
+   * Returns the number of tiles in the cache.
+   *
+   * @return the number of tiles.
+   */
+  int size() {
+    return tiles.size();
+  }
+
+  private BufferedImage composite(int code) {
+    BufferedImage tile = sprites.createImage(tileSize, tileSize);
+    Graphics2D graphics = tile.createGraphics();
+    if ((code & EXPLORED) == 0) {
+      graphics.drawImage(sprites.get("/blank.png"), 0, 0, null);
+      graphics.dispose();
+      return tile;
+    }
+    graphics.drawImage(sprites.get(DungeonCanvas.CELL_IMAGES[code >>> MOVES_SHIFT & 0xF]), 0, 0,
+            null);
+    if ((code & PLAYER) != 0) {
+      graphics.drawImage(sprites.get("/player.png", 30, 30), 16, 16, null);
+    }
+    if ((code & ARROWS) != 0) {
+      graphics.drawImage(sprites.get("/arrow-white.png", 20, 2), 5, 30, null);
+    }
+    for (Treasure treasureItem : TREASURES) {
+      if ((code & 1 << (TREASURE_SHIFT + treasureItem.ordinal())) == 0) {
+        continue;
+      }
+      switch (treasureItem) {
+        case DIAMONDS:
+          graphics.drawImage(sprites.get("/diamond.png", 15, 15), 10, 5, null);
+          break;
+        case SAPPHIRES:
+          graphics.drawImage(sprites.get("/emerald.png", 15, 15), 25, 5, null);
+          break;
+        case RUBIES:
+          graphics.drawImage(sprites.get("/ruby.png", 15, 15), 40, 5, null);
+          break;
+        default:
+          //Do nothing
+          break;
+      }
+    }
+    if ((code & MONSTER) != 0) {
+      graphics.drawImage(sprites.get("/otyugh.png"), 0, 0, null);
+    } else {
+      switch (SMELLS[code >>> SMELL_SHIFT & 0x3]) {
+        case LESS:
+          graphics.drawImage(sprites.get("/stench01.png"), 0, 0, null);
+          break;
+        case MORE:
+          graphics.drawImage(sprites.get("/stench02.png"), 0, 0, null);
+          break;
+        default:
+          break;
+      }
+    }
+    graphics.dispose();
+    return tile;
+  }
+}
@@ -0,0 +1,200 @@
+package dungeon;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import randomizer.Randomizer;
+import randomizer.SeededRandomizer;
+
+/*
+ * Represents a builder of the spanning tree of a maze grid that works on square tiles of cells.
+ * Every tile runs Kruskal's algorithm over the edges inside it as a separate fork join task, with
+ * its own random stream. The streams are split from the game randomizer when it is a
+ * SeededRandomizer, otherwise they are seeded with values drawn from it. The edges that cross
+ * tiles, including the wrapped edges, are then merged with Kruskal's algorithm using the game
+ * randomizer. The tiles, their streams and the merge order only depend on the grid size and the
+ * randomizer, so the resulting maze is the same whatever the number of threads in the pool.
+ */
+//package-private
+final class TiledSpanningTree {
+  static final int DEFAULT_TILE_SIZE = 64;
+
+  private final MazeGrid maze;
+  private final boolean wrapped;
+  private final int tileSize;
+  private final int rows;
+  private final int columns;
+  private final int tileRows;
+  private final int tileColumns;
+  private final DisjointSet components;
+
+  /**
+   * Creates a builder for the spanning tree of the maze.
+   *
+   * @param maze     the grid whose cells are connected.
+   * @param wrapped  if the maze is wrapped around edges or not.
+   * @param tileSize the number of rows and columns in a tile.
+   * @throws IllegalArgumentException if maze is null or tile size is not positive.
+   */
+  public TiledSpanningTree(MazeGrid maze, boolean wrapped, int tileSize)
+          throws IllegalArgumentException {
+    if (maze == null) {
+      throw new IllegalArgumentException("Maze cannot be null");
+    }
+    if (tileSize <= 0) {
+      throw new IllegalArgumentException("Tile size must be positive");
+    }
+    this.maze = maze;
+    this.wrapped = wrapped;
+    this.tileSize = tileSize;
+    this.rows = maze.getRows();
+    this.columns = maze.getColumns();
+    this.tileRows = (rows + tileSize - 1) / tileSize;
+    this.tileColumns = (columns + tileSize - 1) / tileSize;
+    this.components = new DisjointSet(rows * columns);
+  }
+
+  /**
+   * Connects the cells of the maze into a single spanning tree.
+   *
+   * @param randomizer the randomizer that seeds the tiles and orders the merge.
+   * @param pool       the pool the tiles are built on.
+   * @return the edges that were not used by the spanning tree.
+   * @throws IllegalArgumentException if randomizer or pool is null.
+   */
+  public EdgePool build(Randomizer randomizer, ForkJoinPool pool) throws IllegalArgumentException {
+    if (randomizer == null || pool == null) {
+      throw new IllegalArgumentException("Randomizer and pool cannot be null");
+    }
+    int tiles = tileRows * tileColumns;
+    SeededRandomizer[] tileRandomizers = new SeededRandomizer[tiles];
+    for (int tile = 0; tile < tiles; tile++) {
+      if (randomizer instanceof SeededRandomizer) {
+        tileRandomizers[tile] = ((SeededRandomizer) randomizer).split();
+      } else {
+        tileRandomizers[tile] = new SeededRandomizer(
+                randomizer.getRandomValue(0, Integer.MAX_VALUE - 1));
+      }
+    }
+    EdgePool[] tileSkippedEdges = new EdgePool[tiles];
+    pool.invoke(new TileAction(tileRandomizers, tileSkippedEdges, 0, tiles));
+
+    EdgePool boundaryEdges = generateBoundaryEdges();
+    int mergeSkipped = boundaryEdges.remaining() - (tiles - 1);
+    int totalSkipped = mergeSkipped;
+    for (EdgePool skipped : tileSkippedEdges) {
+      totalSkipped += skipped.remaining();
+    }
+    EdgePool skippedEdges = new EdgePool(totalSkipped);
+    for (EdgePool skipped : tileSkippedEdges) {
+      for (int slot = 0; slot < skipped.remaining(); slot++) {
+        skippedEdges.add(skipped.getCellA(slot), skipped.getCellB(slot), skipped.getMove(slot));
+      }
+    }
+    while (boundaryEdges.remaining() > 0) {
+      int index = randomizer.getRandomValue(0, boundaryEdges.remaining() - 1);
+      int slot = boundaryEdges.draw(index);
+      int cellA = boundaryEdges.getCellA(slot);
+      int cellB = boundaryEdges.getCellB(slot);
+      Move move = boundaryEdges.getMove(slot);
+      if (components.union(cellA, cellB)) {
+        connectCells(cellA, cellB, move);
+      } else {
+        skippedEdges.add(cellA, cellB, move);
+      }
+    }
+    return skippedEdges;
+  }
+
+  private void buildTile(int tile, Randomizer randomizer, EdgePool[] tileSkippedEdges) {
+    int rowStart = (tile / tileColumns) * tileSize;
+    int columnStart = (tile % tileColumns) * tileSize;
+    int rowEnd = Math.min(rowStart + tileSize, rows);
+    int columnEnd = Math.min(columnStart + tileSize, columns);
+    int height = rowEnd - rowStart;
+    int width = columnEnd - columnStart;
+    EdgePool edges = new EdgePool((height - 1) * width + height * (width - 1));
+    for (int x = rowStart; x < rowEnd; x++) {
+      for (int y = columnStart; y < columnEnd; y++) {
+        int cell = x * columns + y;
+        if (x > rowStart) {
+          edges.add(cell, cell - columns, Move.NORTH);
+        }
+        if (y < columnEnd - 1) {
+          edges.add(cell, cell + 1, Move.EAST);
+        }
+      }
+    }
+    EdgePool skippedEdges = new EdgePool(edges.remaining() - (height * width - 1));
+    while (edges.remaining() > 0) {
+      int slot = edges.draw(randomizer.getRandomValue(0, edges.remaining() - 1));
+      int cellA = edges.getCellA(slot);
+      int cellB = edges.getCellB(slot);
+      Move move = edges.getMove(slot);
+      if (components.union(cellA, cellB)) {
+        connectCells(cellA, cellB, move);
+      } else {
+        skippedEdges.add(cellA, cellB, move);
+      }
+    }
+    tileSkippedEdges[tile] = skippedEdges;
+  }
+
+  //Returns every edge of the grid that is not inside a single tile, in row major order.
+  private EdgePool generateBoundaryEdges() {
+    int verticalBoundaries = (tileRows - 1) + (wrapped ? 1 : 0);
+    int horizontalBoundaries = (tileColumns - 1) + (wrapped ? 1 : 0);
+    EdgePool edges = new EdgePool(verticalBoundaries * columns + horizontalBoundaries * rows);
+    for (int x = 0; x < rows; x++) {
+      for (int y = 0; y < columns; y++) {
+        int cell = x * columns + y;
+        if (x % tileSize == 0 && (x != 0 || wrapped)) {
+          int x2 = (x == 0) ? rows - 1 : x - 1;
+          edges.add(cell, x2 * columns + y, Move.NORTH);
+        }
+        if ((y == columns - 1 || y % tileSize == tileSize - 1) && (y != columns - 1 || wrapped)) {
+          int y2 = (y == columns - 1) ? 0 : y + 1;
+          edges.add(cell, x * columns + y2, Move.EAST);
+        }
+      }
+    }
+    return edges;
+  }
+
+  private void connectCells(int cellA, int cellB, Move move) {
+    maze.getLocation(cellA / columns, cellA % columns).setNextMove(move);
+    maze.getLocation(cellB / columns, cellB % columns).setNextMove(move.getOpposite());
+  }
+
+  /*
+   * Represents the task of building a range of tiles, split in halves until a single tile is
+   * left. Tiles never share cells, so the tasks write to disjoint parts of the grid and of the
+   * disjoint set.
+   */
+  private final class TileAction extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final SeededRandomizer[] tileRandomizers;
+    private final EdgePool[] tileSkippedEdges;
+    private final int start;
+    private final int end;
+
+    private TileAction(SeededRandomizer[] tileRandomizers, EdgePool[] tileSkippedEdges, int start,
+                       int end) {
+      this.tileRandomizers = tileRandomizers;
+      this.tileSkippedEdges = tileSkippedEdges;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start == 1) {
+        buildTile(start, tileRandomizers[start], tileSkippedEdges);
+        return;
+      }
+      int middle = (start + end) >>> 1;
+      invokeAll(new TileAction(tileRandomizers, tileSkippedEdges, start, middle),
+              new TileAction(tileRandomizers, tileSkippedEdges, middle, end));
+    }
+  }
+}
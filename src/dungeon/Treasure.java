@@ -1,8 +1,22 @@
 package dungeon;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Represents the different types of treasure in a cave.
  */
 public enum Treasure {
-  DIAMONDS, SAPPHIRES, RUBIES
+  DIAMONDS, SAPPHIRES, RUBIES;
+
+  //Converts treasure counts indexed by Treasure ordinal to a map of the types that are present.
+  static Map<Treasure, Integer> toMap(int[] counts) {
+    Map<Treasure, Integer> treasure = new EnumMap<>(Treasure.class);
+    for (Treasure treasureType : values()) {
+      if (counts[treasureType.ordinal()] > 0) {
+        treasure.put(treasureType, counts[treasureType.ordinal()]);
+      }
+    }
+    return treasure;
+  }
 }
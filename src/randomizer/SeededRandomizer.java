@@ -0,0 +1,97 @@
+package randomizer;
+
+import java.util.SplittableRandom;
+
+/**
+ * Represents a Randomizer with an explicit seed, so the same seed always produces the same
+ * sequence of values. It is backed by a {@link SplittableRandom}, which needs no synchronization
+ * for each value, and can be split into independent child randomizers for work that runs in
+ * parallel. An instance must not be shared between threads, split it instead.
+ */
+public final class SeededRandomizer implements Randomizer {
+
+  private final long seed;
+  private final SplittableRandom random;
+
+  /**
+   * Creates a new instance of SeededRandomizer.
+   *
+   * @param seed the seed of the sequence of values.
+   */
+  public SeededRandomizer(long seed) {
+    this(seed, new SplittableRandom(seed));
+  }
+
+  private SeededRandomizer(long seed, SplittableRandom random) {
+    this.seed = seed;
+    this.random = random;
+  }
+
+  /**
+   * Returns the seed this randomizer was created with.
+   * Split randomizers return the seed of the randomizer they were split from.
+   *
+   * @return the seed.
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Returns a random integer value in the given range.
+   *
+   * @param minBound the minimum integer value of range.(inclusive)
+   * @param maxBound the maximum integer value of range.(inclusive)
+   * @return a random integer value in the given range.
+   * @throws IllegalArgumentException if maxBound is less than minBound.
+   */
+  @Override
+  public int getRandomValue(int minBound, int maxBound) throws IllegalArgumentException {
+    if (maxBound < minBound) {
+      throw new IllegalArgumentException("Maximum bound cannot be less than minimum bound");
+    }
+    if (maxBound == Integer.MAX_VALUE) {
+      return (int) random.nextLong(minBound, (long) maxBound + 1);
+    }
+    return random.nextInt(minBound, maxBound + 1);
+  }
+
+  /**
+   * Fills the array with random integer values in the given range.
+   * The values are the same as calling getRandomValue once for each element in order.
+   *
+   * @param values   the array to fill.
+   * @param minBound the minimum integer value of range.(inclusive)
+   * @param maxBound the maximum integer value of range.(inclusive)
+   * @throws IllegalArgumentException if values is null or maxBound is less than minBound.
+   */
+  public void fill(int[] values, int minBound, int maxBound) throws IllegalArgumentException {
+    if (values == null) {
+      throw new IllegalArgumentException("Values cannot be null");
+    }
+    if (maxBound < minBound) {
+      throw new IllegalArgumentException("Maximum bound cannot be less than minimum bound");
+    }
+    if (maxBound == Integer.MAX_VALUE) {
+      for (int i = 0; i < values.length; i++) {
+        values[i] = (int) random.nextLong(minBound, (long) maxBound + 1);
+      }
+      return;
+    }
+    int bound = maxBound + 1;
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextInt(minBound, bound);
+    }
+  }
+
+  /**
+   * Returns a new randomizer whose values are independent of the values of this randomizer.
+   * Splitting advances this randomizer, so splitting the same seed in the same order always gives
+   * the same children.
+   *
+   * @return the child randomizer.
+   */
+  public SeededRandomizer split() {
+    return new SeededRandomizer(seed, random.split());
+  }
+}
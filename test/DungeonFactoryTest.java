@@ -0,0 +1,177 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import dungeon.Dungeon;
+import dungeon.DungeonFactory;
+import randomizer.GameRandomizer;
+import randomizer.Randomizer;
+import randomizer.SeededRandomizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the DungeonFactory.
+ */
+public class DungeonFactoryTest {
+  private DungeonFactory factory;
+
+  @Before
+  public void setUp() {
+    factory = new DungeonFactory(2, 1);
+  }
+
+  @After
+  public void tearDown() {
+    factory.shutdown();
+  }
+
+  @Test
+  public void testTakeDungeon() {
+    factory.setGameConfig(6, 5, true, 2, 30, 2, new SeededRandomizer(3));
+    Dungeon first = factory.takeDungeon();
+    Dungeon second = factory.takeDungeon();
+    assertNotSame(first, second);
+    assertEquals(6, first.getMaze().size());
+    assertEquals(5, first.getMaze().get(0).size());
+    assertEquals(6, second.getMaze().size());
+  }
+
+  @Test
+  public void testQueueRefills() throws InterruptedException {
+    factory.setGameConfig(6, 5, false, 0, 30, 1, new SeededRandomizer(4));
+    waitForReady(2);
+    factory.takeDungeon();
+    waitForReady(2);
+    assertEquals(2, factory.getReadyCount());
+  }
+
+  @Test
+  public void testConfigChangeDiscardsQueue() throws InterruptedException {
+    factory.setGameConfig(6, 5, false, 0, 30, 1, new SeededRandomizer(1));
+    waitForReady(2);
+    factory.setGameConfig(8, 7, false, 0, 30, 1, new SeededRandomizer(2));
+    for (int i = 0; i < 4; i++) {
+      Dungeon dungeon = factory.takeDungeon();
+      assertEquals(8, dungeon.getMaze().size());
+      assertEquals(7, dungeon.getMaze().get(0).size());
+    }
+  }
+
+  @Test
+  public void testGameRandomizerIsNotUsed() throws InterruptedException {
+    SeededRandomizer randomizer = new SeededRandomizer(9);
+    SeededRandomizer expected = new SeededRandomizer(9);
+    factory.setGameConfig(6, 5, false, 0, 30, 1, randomizer);
+    waitForReady(2);
+    factory.takeDungeon();
+    factory.takeDungeon();
+    for (int i = 0; i < 10; i++) {
+      assertEquals(expected.getRandomValue(0, 1000), randomizer.getRandomValue(0, 1000));
+    }
+  }
+
+  @Test
+  public void testSeededDungeonsAreRepeatable() {
+    factory.setGameConfig(6, 5, false, 0, 30, 1, new SeededRandomizer(6));
+    Dungeon first = factory.takeDungeon();
+    DungeonFactory other = new DungeonFactory(2, 1);
+    try {
+      other.setGameConfig(6, 5, false, 0, 30, 1, new SeededRandomizer(6));
+      Dungeon second = other.takeDungeon();
+      assertEquals(first.getStartLocation().getRow(), second.getStartLocation().getRow());
+      assertEquals(first.getStartLocation().getColumn(), second.getStartLocation().getColumn());
+      assertEquals(first.getEndLocation().getRow(), second.getEndLocation().getRow());
+      assertEquals(first.getEndLocation().getColumn(), second.getEndLocation().getColumn());
+    } finally {
+      other.shutdown();
+    }
+  }
+
+  @Test
+  public void testOtherRandomizerIsUsedWhenTaken() throws InterruptedException {
+    AtomicInteger values = new AtomicInteger();
+    Randomizer game = new GameRandomizer();
+    Randomizer randomizer = (minBound, maxBound) -> {
+      values.incrementAndGet();
+      return game.getRandomValue(minBound, maxBound);
+    };
+    factory.setGameConfig(6, 5, false, 0, 30, 1, randomizer);
+    Thread.sleep(50);
+    assertEquals(0, factory.getReadyCount());
+    assertEquals(0, values.get());
+    assertEquals(6, factory.takeDungeon().getMaze().size());
+    assertTrue(values.get() > 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidConfig() {
+    factory.setGameConfig(2, 5, false, 0, 30, 1, new SeededRandomizer(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyMonsters() {
+    factory.setGameConfig(6, 5, false, 0, 30, 40, new SeededRandomizer(1));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTakeBeforeConfig() {
+    factory.takeDungeon();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullRandomizer() {
+    factory.setGameConfig(6, 5, false, 0, 30, 1, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCapacity() {
+    new DungeonFactory(0, 1);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testConfigAfterShutdown() {
+    factory.shutdown();
+    factory.setGameConfig(6, 5, false, 0, 30, 1, new SeededRandomizer(1));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTakeAfterShutdown() {
+    factory.setGameConfig(6, 5, false, 0, 30, 1, new SeededRandomizer(1));
+    factory.shutdown();
+    factory.takeDungeon();
+  }
+
+  @Test
+  public void testWaitingTakeIsCancelledByShutdown() throws InterruptedException {
+    factory.setGameConfig(150, 150, false, 0, 30, 1, new SeededRandomizer(1));
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    Thread taker = new Thread(() -> {
+      try {
+        factory.takeDungeon();
+        factory.takeDungeon();
+      } catch (RuntimeException exception) {
+        failure.set(exception);
+      }
+    });
+    taker.start();
+    factory.shutdown();
+    taker.join(10000);
+    assertFalse(taker.isAlive());
+    assertTrue(failure.get() == null || failure.get() instanceof IllegalStateException);
+  }
+
+  private void waitForReady(int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (factory.getReadyCount() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertTrue(factory.getReadyCount() >= count);
+  }
+}
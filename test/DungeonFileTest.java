@@ -0,0 +1,175 @@
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import dungeon.Dungeon;
+import dungeon.DungeonFile;
+import dungeon.DungeonModel;
+import dungeon.Location;
+import dungeon.MazeStorage;
+import dungeon.Move;
+import dungeon.Treasure;
+import randomizer.SeededRandomizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests saving and loading dungeons with DungeonFile.
+ */
+public class DungeonFileTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testRoundTripOfPlayedGame() throws IOException {
+    for (MazeStorage storage : MazeStorage.values()) {
+      Dungeon dungeon = new DungeonModel(12, 9, true, 6, 60, 4, new SeededRandomizer(21),
+              storage);
+      play(dungeon);
+      Path path = folder.newFile().toPath();
+      DungeonFile.save(dungeon, path);
+      Dungeon loaded = DungeonFile.load(path, new SeededRandomizer(1));
+      assertSameGame(dungeon, loaded);
+    }
+  }
+
+  @Test
+  public void testLoadedGameContinues() throws IOException {
+    Dungeon dungeon = new DungeonModel(60, 70, false, 30, 20, 10, new SeededRandomizer(4),
+            MazeStorage.COMPACT);
+    Path path = folder.newFile().toPath();
+    DungeonFile.save(dungeon, path);
+    Dungeon loaded = DungeonFile.load(path, new SeededRandomizer(1));
+    play(dungeon);
+    play(loaded);
+    assertSameGame(dungeon, loaded);
+    Dungeon restarted = new DungeonModel(loaded);
+    assertEquals(loaded.getStartLocation().getRow(),
+            restarted.getPlayerCurrentLocation().getRow());
+    assertEquals(loaded.getStartLocation().getColumn(),
+            restarted.getPlayerCurrentLocation().getColumn());
+  }
+
+  @Test
+  public void testSaveOverLoadedFile() throws IOException {
+    Dungeon dungeon = new DungeonModel(12, 9, false, 2, 40, 2, new SeededRandomizer(6),
+            MazeStorage.COMPACT);
+    Path path = folder.newFile().toPath();
+    DungeonFile.save(dungeon, path);
+    Dungeon loaded = DungeonFile.load(path, new SeededRandomizer(1));
+    play(loaded);
+    DungeonFile.save(loaded, path);
+    Files.delete(path);
+    DungeonFile.save(loaded, path);
+    assertSameGame(loaded, DungeonFile.load(path, new SeededRandomizer(1)));
+  }
+
+  @Test
+  public void testFileSize() throws IOException {
+    Dungeon dungeon = new DungeonModel(10, 8, false, 0, 20, 3, new SeededRandomizer(2),
+            MazeStorage.COMPACT);
+    Path path = folder.newFile().toPath();
+    DungeonFile.save(dungeon, path);
+    long header = (9 + Treasure.values().length) * Integer.BYTES;
+    long cells = 10 * 8;
+    long size = Files.size(path);
+    assertTrue(size >= header + cells * 5 + 4 + 3 * 4);
+    assertTrue(size <= header + cells * 5 + 4 + cells * 4);
+  }
+
+  @Test(expected = IOException.class)
+  public void testNotADungeon() throws IOException {
+    Path path = folder.newFile().toPath();
+    Files.write(path, new byte[200]);
+    DungeonFile.load(path, new SeededRandomizer(1));
+  }
+
+  @Test(expected = IOException.class)
+  public void testUnsupportedVersion() throws IOException {
+    Path path = folder.newFile().toPath();
+    DungeonFile.save(new DungeonModel(6, 5, false, 0, 20, 1, new SeededRandomizer(2)), path);
+    byte[] bytes = Files.readAllBytes(path);
+    ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(4, DungeonFile.VERSION + 1);
+    Files.write(path, bytes);
+    DungeonFile.load(path, new SeededRandomizer(1));
+  }
+
+  @Test(expected = IOException.class)
+  public void testTruncatedFile() throws IOException {
+    Path path = folder.newFile().toPath();
+    DungeonFile.save(new DungeonModel(6, 5, false, 0, 20, 1, new SeededRandomizer(2)), path);
+    byte[] bytes = Files.readAllBytes(path);
+    Files.write(path, Arrays.copyOf(bytes, bytes.length - 40));
+    DungeonFile.load(path, new SeededRandomizer(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSaveNull() throws IOException {
+    DungeonFile.save(null, folder.newFile().toPath());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadNullRandomizer() throws IOException {
+    DungeonFile.load(folder.newFile().toPath(), null);
+  }
+
+  //Walks the player with the lowest ordinal valid move, picking up and shooting along the way.
+  private void play(Dungeon dungeon) {
+    for (int step = 0; step < 30 && !dungeon.isGameOver(); step++) {
+      Location location = dungeon.getPlayerCurrentLocation();
+      if (location.hasTreasure()) {
+        dungeon.playerPickTreasure();
+      }
+      if (location.hasArrows()) {
+        dungeon.playerPickArrows();
+      }
+      Move move = location.getNextMoves().iterator().next();
+      if (step % 7 == 3 && dungeon.getPlayerDescription().hasArrows()) {
+        dungeon.shootArrow(move, 1);
+      }
+      dungeon.movePlayer(move);
+    }
+  }
+
+  private void assertSameGame(Dungeon expected, Dungeon actual) {
+    assertEquals(expected.rows(), actual.rows());
+    assertEquals(expected.columns(), actual.columns());
+    assertSameCell(expected.getStartLocation(), actual.getStartLocation());
+    assertSameCell(expected.getEndLocation(), actual.getEndLocation());
+    assertSameCell(expected.getPlayerCurrentLocation(), actual.getPlayerCurrentLocation());
+    assertEquals(expected.isGameOver(), actual.isGameOver());
+    assertEquals(expected.isPlayerDead(), actual.isPlayerDead());
+    assertEquals(expected.playerVisitedEnd(), actual.playerVisitedEnd());
+    assertEquals(expected.getPlayerDescription().getArrows(),
+            actual.getPlayerDescription().getArrows());
+    assertEquals(expected.getPlayerDescription().getTreasure(),
+            actual.getPlayerDescription().getTreasure());
+    for (int row = 0; row < expected.rows(); row++) {
+      for (int column = 0; column < expected.columns(); column++) {
+        Location location = expected.getLocation(row, column);
+        Location loaded = actual.getLocation(row, column);
+        assertEquals(location.getMoveMask(), loaded.getMoveMask());
+        assertEquals(location.getTreasure(), loaded.getTreasure());
+        assertEquals(location.getArrows(), loaded.getArrows());
+        assertEquals(location.hasMonster(), loaded.hasMonster());
+        assertEquals(location.isExplored(), loaded.isExplored());
+        assertEquals(expected.getSmell(location), actual.getSmell(loaded));
+      }
+    }
+    assertFalse(expected == actual);
+  }
+
+  private void assertSameCell(Location expected, Location actual) {
+    assertEquals(expected.getRow(), actual.getRow());
+    assertEquals(expected.getColumn(), actual.getColumn());
+  }
+}
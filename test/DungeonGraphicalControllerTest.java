@@ -4,16 +4,26 @@ import org.junit.Test;
 import java.awt.event.ActionEvent;
 import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import javax.swing.JLabel;
 
 import dungeon.DungeonGraphicalController;
 import dungeon.DungeonSwingController;
 import dungeon.DungeonView;
+import dungeon.LatencyMonitor;
 import dungeon.MockDungeonView;
 import dungeon.Move;
+import dungeon.PlayerAction;
 import randomizer.GameRandomizer;
 import randomizer.Randomizer;
+import randomizer.SeededRandomizer;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -33,7 +43,7 @@ public class DungeonGraphicalControllerTest {
             0, 16, 1, 2, 4, 2, 1, 1, 4, 3, 2, 2, 5, 0, 1, 1, 1, 2, 1, 6, 2, 0, 5, 0, 1, 1, 2, 2, 3,
             1, 3, 0, 2, 2, 1, 0, 4, 5, 2, 1, 5, 0, 3, 11, 2, 0, 3, 13, 3, 6, 1, 0, 2, 11, 2, 12, 2,
             11, 1, 8, 3, 9, 2, 0, 2, 0, 7, 0);
-    guiController = new DungeonSwingController();
+    guiController = new DungeonSwingController(Runnable::run, Runnable::run);
     log = new StringBuilder();
     DungeonView view = new MockDungeonView(log);
     guiController.setView(view);
@@ -295,4 +305,186 @@ public class DungeonGraphicalControllerTest {
             + "mouse for navigation, 'A' to pickup arrows, 'T' to pickup treasure, 'Ctrl "
             + "+ arrow key' to shoot in that direction"));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testGenerationRunsOnGameExecutor() {
+    List<Runnable> gameTasks = new ArrayList<>();
+    DungeonGraphicalController controller = new DungeonSwingController(gameTasks::add,
+        Runnable::run);
+    controller.setView(new MockDungeonView(log));
+    controller.setGameConfig(5, 4, true, 4, 50, 3, monsterRandomizer);
+    assertTrue(log.toString().contains("Showing Progress Generating a 5x4 dungeon"));
+    assertFalse(log.toString().contains("Welcome to the dungeons"));
+    runAll(gameTasks);
+    assertTrue(log.toString().contains("Hiding Progress"));
+    assertTrue(log.toString().contains("Setting Source"));
+    assertTrue(log.toString().contains("Welcome to the dungeons"));
+  }
+
+  @Test
+  public void testCancelGeneration() {
+    List<Runnable> gameTasks = new ArrayList<>();
+    DungeonGraphicalController controller = new DungeonSwingController(gameTasks::add,
+        Runnable::run);
+    MockDungeonView view = new MockDungeonView(log);
+    controller.setView(view);
+    controller.setGameConfig(5, 4, true, 4, 50, 3, monsterRandomizer);
+    view.cancelProgress();
+    runAll(gameTasks);
+    assertTrue(log.toString().contains("Dungeon generation cancelled"));
+    assertFalse(log.toString().contains("Setting Source"));
+    assertFalse(log.toString().contains("Welcome to the dungeons"));
+  }
+
+  @Test
+  public void testCancelledGenerationDoesNotHoldUpGame() {
+    List<Runnable> generationTasks = new ArrayList<>();
+    List<Runnable> gameTasks = new ArrayList<>();
+    DungeonGraphicalController controller = new DungeonSwingController(generationTasks::add,
+        gameTasks::add, Runnable::run);
+    MockDungeonView view = new MockDungeonView(log);
+    controller.setView(view);
+    controller.setGameConfig(5, 4, true, 4, 50, 3, monsterRandomizer);
+    assertTrue(gameTasks.isEmpty());
+    runAll(generationTasks);
+    runAll(gameTasks);
+    assertTrue(log.toString().contains("Welcome to the dungeons"));
+    controller.setGameConfig(5, 4, true, 4, 50, 3, monsterRandomizer);
+    view.cancelProgress();
+    log.setLength(0);
+    controller.keyReleased(new FakeKeyEvent(InputEvent.BUTTON1_DOWN_MASK, KeyEvent.VK_A,
+        KeyEvent.CHAR_UNDEFINED));
+    runAll(gameTasks);
+    assertTrue(log.toString().contains("arrows"));
+    assertEquals(1, generationTasks.size());
+    runAll(generationTasks);
+    runAll(gameTasks);
+    assertFalse(log.toString().contains("Setting Source"));
+  }
+
+  @Test
+  public void testLatencyIsSavedOffEventThread() throws IOException {
+    List<Runnable> generationTasks = new ArrayList<>();
+    DungeonGraphicalController controller = new DungeonSwingController(generationTasks::add,
+        Runnable::run, Runnable::run);
+    controller.setView(new MockDungeonView(log));
+    controller.actionPerformed(new ActionEvent(new JLabel(), ActionEvent.ACTION_FIRST,
+        "Save Latency"));
+    assertEquals(1, generationTasks.size());
+    assertFalse(log.toString().contains("Latency saved"));
+    Path path = Paths.get("dungeon-latency.csv").toAbsolutePath();
+    try {
+      runAll(generationTasks);
+      assertTrue(log.toString().contains("Latency saved to " + path));
+      assertTrue(Files.exists(path));
+    } finally {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  @Test
+  public void testGenerationFailureIsShown() {
+    guiController.setGameConfig(5, 5, false, 0, 30, 25, new SeededRandomizer(3));
+    assertTrue(log.toString().contains("Number of monsters is greater than number of caves"));
+    assertTrue(log.toString().contains("Hiding Progress"));
+    assertFalse(log.toString().contains("Setting Source"));
+  }
+
+  @Test
+  public void testInputIsHandledInOrder() {
+    List<Runnable> gameTasks = new ArrayList<>();
+    DungeonGraphicalController controller = new DungeonSwingController(gameTasks::add,
+        Runnable::run);
+    controller.setView(new MockDungeonView(log));
+    controller.setGameConfig(5, 4, true, 4, 50, 3, monsterRandomizer);
+    runAll(gameTasks);
+    controller.keyReleased(new FakeKeyEvent(InputEvent.BUTTON1_DOWN_MASK, KeyEvent.VK_T,
+        KeyEvent.CHAR_UNDEFINED));
+    controller.keyReleased(new FakeKeyEvent(InputEvent.BUTTON1_DOWN_MASK, KeyEvent.VK_A,
+        KeyEvent.CHAR_UNDEFINED));
+    controller.keyReleased(new FakeKeyEvent(InputEvent.BUTTON1_DOWN_MASK, KeyEvent.VK_T,
+        KeyEvent.CHAR_UNDEFINED));
+    assertFalse(log.toString().contains("You picked up"));
+    runAll(gameTasks);
+    int treasure = log.indexOf("You picked up some treasure");
+    int arrows = log.indexOf("You picked up arrows");
+    int noTreasure = log.indexOf("There is no treasure to pickup");
+    assertTrue(treasure >= 0 && treasure < arrows && arrows < noTreasure);
+  }
+
+  @Test
+  public void testMoveKeysAreMergedIntoOnePath() {
+    List<Runnable> gameTasks = new ArrayList<>();
+    DungeonSwingController controller = new DungeonSwingController(gameTasks::add,
+        Runnable::run);
+    controller.setView(new MockDungeonView(log));
+    controller.setGameConfig(5, 4, true, 4, 50, 3, monsterRandomizer);
+    runAll(gameTasks);
+    controller.keyReleased(new FakeKeyEvent(InputEvent.BUTTON1_DOWN_MASK, KeyEvent.VK_UP,
+        KeyEvent.CHAR_UNDEFINED));
+    controller.keyReleased(new FakeKeyEvent(InputEvent.BUTTON1_DOWN_MASK, KeyEvent.VK_DOWN,
+        KeyEvent.CHAR_UNDEFINED));
+    controller.keyReleased(new FakeKeyEvent(InputEvent.BUTTON1_DOWN_MASK, KeyEvent.VK_DOWN,
+        KeyEvent.CHAR_UNDEFINED));
+    assertEquals(1, gameTasks.size());
+    runAll(gameTasks);
+    assertTrue(log.toString().contains("You moved NORTH, SOUTH\nProvided move is not a valid "
+        + "move SOUTH"));
+    assertEquals(1, controller.getLatencyMonitor().getHistogram(PlayerAction.MOVE_KEY)
+        .getCount());
+  }
+
+  @Test
+  public void testPendingMovesAreMadeBeforeOtherKeys() {
+    List<Runnable> gameTasks = new ArrayList<>();
+    DungeonSwingController controller = new DungeonSwingController(gameTasks::add,
+        Runnable::run);
+    controller.setView(new MockDungeonView(log));
+    controller.setGameConfig(5, 4, true, 4, 50, 3, monsterRandomizer);
+    runAll(gameTasks);
+    controller.keyReleased(new FakeKeyEvent(InputEvent.BUTTON1_DOWN_MASK, KeyEvent.VK_T,
+        KeyEvent.CHAR_UNDEFINED));
+    controller.keyReleased(new FakeKeyEvent(InputEvent.BUTTON1_DOWN_MASK, KeyEvent.VK_UP,
+        KeyEvent.CHAR_UNDEFINED));
+    controller.keyReleased(new FakeKeyEvent(InputEvent.BUTTON1_DOWN_MASK, KeyEvent.VK_A,
+        KeyEvent.CHAR_UNDEFINED));
+    runAll(gameTasks);
+    int moved = log.indexOf("You moved NORTH");
+    int treasure = Math.max(log.indexOf("You picked up some treasure"),
+        log.indexOf("There is no treasure to pickup"));
+    assertTrue(treasure >= 0 && treasure < moved);
+    assertTrue(moved < log.indexOf("arrows", moved));
+    assertEquals(1, controller.getLatencyMonitor().getHistogram(PlayerAction.MOVE_KEY)
+        .getCount());
+  }
+
+  @Test
+  public void testLatencyIsRecorded() {
+    DungeonSwingController controller = new DungeonSwingController(Runnable::run, Runnable::run);
+    controller.setView(new MockDungeonView(log));
+    controller.setGameConfig(5, 4, true, 4, 50, 3, monsterRandomizer);
+    controller.keyReleased(new FakeKeyEvent(InputEvent.BUTTON1_DOWN_MASK, KeyEvent.VK_A,
+        KeyEvent.CHAR_UNDEFINED));
+    controller.keyReleased(new FakeKeyEvent(InputEvent.BUTTON1_DOWN_MASK, KeyEvent.VK_UP,
+        KeyEvent.CHAR_UNDEFINED));
+    controller.handleCellClick(Move.SOUTH);
+    LatencyMonitor latency = controller.getLatencyMonitor();
+    assertEquals(1, latency.getHistogram(PlayerAction.PICK_ARROWS).getCount());
+    assertEquals(1, latency.getHistogram(PlayerAction.MOVE_KEY).getCount());
+    assertEquals(1, latency.getHistogram(PlayerAction.MOVE_CLICK).getCount());
+    controller.actionPerformed(new ActionEvent(new JLabel(), ActionEvent.ACTION_FIRST,
+        "Show Latency"));
+    assertTrue(log.toString().contains("PICK_ARROWS: count 1"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullExecutor() {
+    new DungeonSwingController(null, Runnable::run);
+  }
+
+  private void runAll(List<Runnable> tasks) {
+    while (!tasks.isEmpty()) {
+      tasks.remove(0).run();
+    }
+  }
+}
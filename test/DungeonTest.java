@@ -1,22 +1,35 @@
+import com.sun.management.ThreadMXBean;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import dungeon.ArrowHitOutcome;
+import dungeon.CellChange;
+import dungeon.ChangeReason;
 import dungeon.Dungeon;
+import dungeon.DungeonChange;
+import dungeon.DungeonListener;
 import dungeon.DungeonModel;
 import dungeon.Location;
+import dungeon.LocationNode;
+import dungeon.MazeStorage;
 import dungeon.Move;
 import dungeon.Player;
 import dungeon.SmellLevel;
 import dungeon.Treasure;
 import randomizer.GameRandomizer;
 import randomizer.Randomizer;
+import randomizer.SeededRandomizer;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -24,6 +37,7 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Tests the Dungeon game.
@@ -1554,6 +1568,333 @@ public class DungeonTest {
     assertNotEquals(playerDescriptionAfter.getTreasure(), playerDescriptionCopyAfter.getTreasure());
   }
 
+  @Test
+  public void testCompactStorageMatchesNodeStorage() {
+    int[] sequence = {35, 33, 6, 6, 31, 4, 0, 32, 28, 12, 14, 7, 14, 20, 4, 23, 11, 12, 11, 2,
+        10, 4, 4, 0, 2, 3, 1, 3, 9, 6, 7, 1, 4, 5, 2, 2, 1, 2, 1, 0, 16, 1, 2, 4, 2, 1, 1, 4, 3,
+        2, 2, 5, 0, 1, 1, 1, 2, 1, 6, 2, 0, 5, 0, 1, 1, 2, 2, 3, 1, 3, 0, 2, 2, 1, 0, 4, 5, 2, 1,
+        5, 0, 3, 11, 2, 0, 3, 13, 3, 6, 1, 0, 2, 11, 2, 12, 2, 11, 1, 8, 3, 9, 2, 0, 2, 0, 7};
+    Dungeon compactDungeon = new DungeonModel(5, 4, true, 4, 50, 3,
+            new GameRandomizer(sequence), MazeStorage.COMPACT);
+    assertEquals(visualizeKruskals(dungeonMonster).toString(),
+            visualizeKruskals(compactDungeon).toString());
+    List<List<Location>> maze = dungeonMonster.getMaze();
+    List<List<Location>> compactMaze = compactDungeon.getMaze();
+    for (int row = 0; row < maze.size(); row++) {
+      for (int column = 0; column < maze.get(row).size(); column++) {
+        Location location = maze.get(row).get(column);
+        Location compactLocation = compactMaze.get(row).get(column);
+        assertEquals(location.getNextMoves(), compactLocation.getNextMoves());
+        assertEquals(location.getTreasure(), compactLocation.getTreasure());
+        assertEquals(location.getArrows(), compactLocation.getArrows());
+        assertEquals(location.hasMonster(), compactLocation.hasMonster());
+        assertEquals(location.isExplored(), compactLocation.isExplored());
+        assertEquals(dungeonMonster.getSmell(location), compactDungeon.getSmell(compactLocation));
+      }
+    }
+    for (Move move : new Move[]{Move.WEST, Move.NORTH, Move.EAST, Move.SOUTH, Move.WEST}) {
+      dungeonMonster.movePlayer(move);
+      compactDungeon.movePlayer(move);
+    }
+    assertEquals(ArrowHitOutcome.INJURED, compactDungeon.shootArrow(Move.SOUTH, 1));
+    assertEquals(ArrowHitOutcome.KILLED, compactDungeon.shootArrow(Move.SOUTH, 1));
+    dungeonMonster.shootArrow(Move.SOUTH, 1);
+    dungeonMonster.shootArrow(Move.SOUTH, 1);
+    assertEquals(visualizeKruskals(dungeonMonster).toString(),
+            visualizeKruskals(compactDungeon).toString());
+  }
+
+  @Test
+  public void testRestartAfterKillKeepsSmellInSync() {
+    Dungeon fresh = new DungeonModel(dungeonMonster);
+    for (Move move : new Move[]{Move.WEST, Move.NORTH, Move.EAST, Move.SOUTH, Move.WEST}) {
+      fresh.movePlayer(move);
+    }
+    fresh.shootArrow(Move.SOUTH, 1);
+    assertEquals(ArrowHitOutcome.KILLED, fresh.shootArrow(Move.SOUTH, 1));
+    Dungeon restarted = new DungeonModel(fresh);
+    Dungeon restartedAgain = new DungeonModel(restarted);
+    assertTrue(compareLocations(dungeonMonster.getStartLocation(),
+            restartedAgain.getPlayerCurrentLocation()));
+    boolean smellChanged = false;
+    for (int row = 0; row < fresh.rows(); row++) {
+      for (int column = 0; column < fresh.columns(); column++) {
+        Location location = fresh.getLocation(row, column);
+        Location restartedLocation = restarted.getLocation(row, column);
+        Location restartedAgainLocation = restartedAgain.getLocation(row, column);
+        assertEquals(location.hasMonster(), restartedLocation.hasMonster());
+        assertEquals(location.hasMonster(), restartedAgainLocation.hasMonster());
+        assertEquals(fresh.getSmell(location), restarted.getSmell(restartedLocation));
+        assertEquals(fresh.getSmell(location), restartedAgain.getSmell(restartedAgainLocation));
+        smellChanged |= fresh.getSmell(location)
+                != dungeonMonster.getSmell(dungeonMonster.getLocation(row, column));
+      }
+    }
+    assertTrue(smellChanged);
+  }
+
+  @Test
+  public void testListenerReceivesOneBatchPerAction() {
+    List<DungeonChange> changes = new ArrayList<>();
+    dungeonMonster.addDungeonListener(changes::add);
+    Location start = dungeonMonster.getPlayerCurrentLocation();
+    dungeonMonster.playerPickTreasure();
+    dungeonMonster.playerPickArrows();
+    dungeonMonster.movePlayer(Move.WEST);
+    Location next = dungeonMonster.getPlayerCurrentLocation();
+    assertEquals(3, changes.size());
+    assertEquals(List.of(new CellChange(start.getRow(), start.getColumn(),
+            ChangeReason.TREASURE_PICKED)), changes.get(0).getCellChanges());
+    assertEquals(EnumSet.of(ChangeReason.TREASURE_PICKED, ChangeReason.PLAYER_INVENTORY),
+            changes.get(0).getReasons());
+    assertEquals(List.of(new CellChange(start.getRow(), start.getColumn(),
+            ChangeReason.ARROWS_PICKED)), changes.get(1).getCellChanges());
+    assertTrue(changes.get(1).hasReason(ChangeReason.PLAYER_INVENTORY));
+    assertEquals(List.of(new CellChange(start.getRow(), start.getColumn(),
+                    ChangeReason.PLAYER_LEFT),
+            new CellChange(next.getRow(), next.getColumn(), ChangeReason.PLAYER_ENTERED)),
+            changes.get(2).getCellChanges());
+    assertFalse(changes.get(2).hasReason(ChangeReason.GAME_OVER));
+  }
+
+  @Test
+  public void testListenerReportsMonsterAndSmell() {
+    for (Move move : new Move[]{Move.WEST, Move.NORTH, Move.EAST, Move.SOUTH, Move.WEST}) {
+      dungeonMonster.movePlayer(move);
+    }
+    SmellLevel[] smellBefore = getSmells(dungeonMonster);
+    List<DungeonChange> changes = new ArrayList<>();
+    dungeonMonster.addDungeonListener(changes::add);
+    assertEquals(ArrowHitOutcome.INJURED, dungeonMonster.shootArrow(Move.SOUTH, 1));
+    assertEquals(ArrowHitOutcome.KILLED, dungeonMonster.shootArrow(Move.SOUTH, 1));
+    assertEquals(2, changes.size());
+    CellChange injured = changes.get(0).getCellChanges().get(0);
+    assertEquals(ChangeReason.MONSTER_INJURED, injured.getReason());
+    assertEquals(1, changes.get(0).getCellChanges().size());
+    assertTrue(changes.get(0).hasReason(ChangeReason.PLAYER_INVENTORY));
+    List<CellChange> killChanges = changes.get(1).getCellChanges();
+    assertEquals(new CellChange(injured.getRow(), injured.getColumn(),
+            ChangeReason.MONSTER_KILLED), killChanges.get(0));
+    SmellLevel[] smellAfter = getSmells(dungeonMonster);
+    Set<Integer> changedSmell = new HashSet<>();
+    for (int cell = 0; cell < smellAfter.length; cell++) {
+      if (smellBefore[cell] != smellAfter[cell]) {
+        changedSmell.add(cell);
+      }
+    }
+    Set<Integer> reportedSmell = new HashSet<>();
+    for (CellChange change : killChanges.subList(1, killChanges.size())) {
+      assertEquals(ChangeReason.SMELL_CHANGED, change.getReason());
+      reportedSmell.add(change.getRow() * dungeonMonster.columns() + change.getColumn());
+    }
+    assertFalse(changedSmell.isEmpty());
+    assertEquals(changedSmell, reportedSmell);
+    assertEquals(killChanges.size() - 1, reportedSmell.size());
+  }
+
+  @Test
+  public void testListenerReportsGameOver() {
+    Dungeon compactDungeon = new DungeonModel(5, 4, true, 4, 50, 3,
+            new GameRandomizer(35, 33, 6, 6, 31, 4, 0, 32, 28, 12, 14, 7, 14, 20, 4, 23, 11, 12,
+                    11, 2, 10, 4, 4, 0, 2, 3, 1, 3, 9, 6, 7, 1, 4, 5, 2, 2, 1, 2, 1, 0, 16, 1, 2,
+                    4, 2, 1, 1, 4, 3, 2, 2, 5, 0, 1, 1, 1, 2, 1, 6, 2, 0, 5, 0, 1, 1, 2, 2, 3, 1,
+                    3, 0, 2, 2, 1, 0, 4, 5, 2, 1, 5, 0, 3, 11, 2, 0, 3, 13, 3, 6, 1, 0, 2, 11, 2,
+                    12, 2, 11, 1, 8, 3, 9, 2, 0, 2, 0, 7), MazeStorage.COMPACT);
+    List<DungeonChange> changes = new ArrayList<>();
+    compactDungeon.addDungeonListener(changes::add);
+    for (Move move : new Move[]{Move.WEST, Move.NORTH, Move.EAST, Move.SOUTH, Move.WEST,
+        Move.SOUTH}) {
+      compactDungeon.movePlayer(move);
+    }
+    DungeonChange last = changes.get(changes.size() - 1);
+    assertTrue(compactDungeon.isPlayerDead());
+    assertTrue(last.hasReason(ChangeReason.PLAYER_KILLED));
+    assertTrue(last.hasReason(ChangeReason.GAME_OVER));
+    assertFalse(last.hasReason(ChangeReason.END_REACHED));
+  }
+
+  @Test
+  public void testRemovedListenerAndFailedActions() {
+    List<DungeonChange> changes = new ArrayList<>();
+    DungeonListener listener = changes::add;
+    dungeonMonster.addDungeonListener(listener);
+    try {
+      dungeonMonster.movePlayer(Move.SOUTH);
+      fail("Move should be invalid");
+    } catch (IllegalArgumentException iae) {
+      assertEquals(0, changes.size());
+    }
+    dungeonMonster.removeDungeonListener(listener);
+    dungeonMonster.movePlayer(Move.WEST);
+    assertEquals(0, changes.size());
+    Dungeon copy = new DungeonModel(dungeonMonster);
+    copy.movePlayer(Move.WEST);
+    assertEquals(0, changes.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullListener() {
+    dungeonMonster.addDungeonListener(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStateReasonIsNotCellChange() {
+    new CellChange(0, 0, ChangeReason.GAME_OVER);
+  }
+
+  private static SmellLevel[] getSmells(Dungeon smellDungeon) {
+    SmellLevel[] smells = new SmellLevel[smellDungeon.rows() * smellDungeon.columns()];
+    for (int row = 0; row < smellDungeon.rows(); row++) {
+      for (int column = 0; column < smellDungeon.columns(); column++) {
+        smells[row * smellDungeon.columns() + column] =
+                smellDungeon.getSmell(smellDungeon.getLocation(row, column));
+      }
+    }
+    return smells;
+  }
+
+  @Test
+  public void testTiledGenerationSameForAnyParallelism() {
+    String expected = null;
+    for (int parallelism : new int[]{1, 4}) {
+      ForkJoinPool pool = new ForkJoinPool(parallelism);
+      try {
+        Dungeon tiledDungeon = new DungeonModel(150, 140, true, 40, 20, 30,
+                new SeededRandomizer(11), MazeStorage.COMPACT, pool);
+        String maze = visualizeKruskals(tiledDungeon).toString();
+        if (expected == null) {
+          expected = maze;
+        }
+        assertEquals(expected, maze);
+      } finally {
+        pool.shutdown();
+      }
+    }
+  }
+
+  @Test
+  public void testCopyKeepsStorage() {
+    for (MazeStorage storage : MazeStorage.values()) {
+      Dungeon original = new DungeonModel(6, 5, false, 0, 20, 1, new SeededRandomizer(5),
+              storage);
+      Dungeon copy = new DungeonModel(new DungeonModel(original));
+      assertEquals(storage.toString(), original.getStartLocation().getClass(),
+              copy.getStartLocation().getClass());
+    }
+    assertTrue(new DungeonModel(new DungeonModel(6, 5, false, 0, 20, 1,
+            new SeededRandomizer(5), MazeStorage.NODES)).getStartLocation()
+            instanceof LocationNode);
+  }
+
+  @Test
+  public void testMovePlayerDoesNotAllocate() {
+    ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+    long threadId = Thread.currentThread().getId();
+    int moves = 200000;
+    for (MazeStorage storage : MazeStorage.values()) {
+      Dungeon movingDungeon = new DungeonModel(30, 30, false, 0, 20, 1,
+              new SeededRandomizer(5), storage);
+      Move move = movingDungeon.getStartLocation().getNextMoves().iterator().next();
+      Move back = move.getOpposite();
+      for (int i = 0; i < moves / 2; i++) {
+        movingDungeon.movePlayer(move);
+        movingDungeon.movePlayer(back);
+      }
+      long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < moves / 2; i++) {
+        movingDungeon.movePlayer(move);
+        movingDungeon.movePlayer(back);
+      }
+      long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+      assertEquals(storage + " allocated " + allocated + " bytes", 0, allocated / moves);
+    }
+  }
+
+  @Test
+  public void testMovePlayerPathStopsAtDeath() {
+    assertEquals(2, dungeonMonster.movePlayer(Move.WEST, Move.SOUTH, Move.NORTH));
+    assertTrue(dungeonMonster.isPlayerDead());
+    assertTrue(dungeonMonster.isGameOver());
+  }
+
+  @Test
+  public void testMovePlayerPathStopsAtInvalidMove() {
+    Dungeon pathDungeon = new DungeonModel(30, 30, false, 0, 20, 1, new SeededRandomizer(5));
+    Location start = pathDungeon.getStartLocation();
+    Move move = start.getNextMoves().iterator().next();
+    Move invalid = null;
+    for (Move candidate : Move.values()) {
+      if (!start.getNextMoves().contains(candidate)) {
+        invalid = candidate;
+      }
+    }
+    List<DungeonChange> changes = new ArrayList<>();
+    pathDungeon.addDungeonListener(changes::add);
+    assertEquals(2, pathDungeon.movePlayer(move, move.getOpposite(), invalid, move));
+    assertTrue(compareLocations(start, pathDungeon.getPlayerCurrentLocation()));
+    assertEquals(1, changes.size());
+    assertEquals(0, pathDungeon.movePlayer());
+    assertEquals(1, changes.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMovePlayerNullPath() {
+    dungeon.movePlayer((Move[]) null);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testMovePlayerPathAfterGameEnds() {
+    dungeonMonster.movePlayer(Move.WEST, Move.SOUTH);
+    dungeonMonster.movePlayer(Move.NORTH, Move.SOUTH);
+  }
+
+  @Test
+  public void testIndexedReadMatchesGetMaze() {
+    for (Dungeon readDungeon : new Dungeon[]{dungeonMonster, new DungeonModel(6, 5, true, 2, 30,
+            2, new SeededRandomizer(8), MazeStorage.COMPACT)}) {
+      List<List<Location>> maze = readDungeon.getMaze();
+      assertEquals(maze.size(), readDungeon.rows());
+      assertEquals(maze.get(0).size(), readDungeon.columns());
+      for (int row = 0; row < readDungeon.rows(); row++) {
+        List<Location> mazeRow = readDungeon.getRow(row);
+        assertEquals(readDungeon.columns(), mazeRow.size());
+        for (int column = 0; column < readDungeon.columns(); column++) {
+          Location location = maze.get(row).get(column);
+          Location indexedLocation = readDungeon.getLocation(row, column);
+          assertEquals(row, indexedLocation.getRow());
+          assertEquals(column, indexedLocation.getColumn());
+          assertEquals(location.getNextMoves(), indexedLocation.getNextMoves());
+          assertEquals(location.getTreasure(), mazeRow.get(column).getTreasure());
+          assertEquals(location.hasMonster(), mazeRow.get(column).hasMonster());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testRowViewIsNotACopy() {
+    List<List<Location>> rows = new ArrayList<>();
+    for (int row = 0; row < dungeonMonster.rows(); row++) {
+      rows.add(dungeonMonster.getRow(row));
+    }
+    Move move = dungeonMonster.getStartLocation().getNextMoves().iterator().next();
+    dungeonMonster.movePlayer(move);
+    Location current = dungeonMonster.getPlayerCurrentLocation();
+    assertTrue(rows.get(current.getRow()).get(current.getColumn()).isExplored());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetRowInvalid() {
+    dungeonMonster.getRow(dungeonMonster.rows());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetLocationInvalid() {
+    dungeonMonster.getLocation(0, -1);
+  }
+
   private List<Location> getTreasureFilledLocations(List<List<Location>> maze) {
     List<Location> treasureFilledLocations = new ArrayList<>();
     for (List<Location> list : maze) {
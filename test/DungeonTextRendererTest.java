@@ -0,0 +1,197 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Set;
+
+import dungeon.Dungeon;
+import dungeon.DungeonModel;
+import dungeon.DungeonTextRenderer;
+import dungeon.Location;
+import dungeon.MazeStorage;
+import dungeon.Move;
+import dungeon.ReadOnlyDungeon;
+import randomizer.SeededRandomizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the DungeonTextRenderer.
+ */
+public class DungeonTextRendererTest {
+  private Dungeon dungeon;
+  private DungeonTextRenderer renderer;
+
+  @Before
+  public void setUp() {
+    dungeon = new DungeonModel(20, 30, true, 40, 30, 6, new SeededRandomizer(12),
+            MazeStorage.COMPACT);
+    renderer = new DungeonTextRenderer(dungeon);
+  }
+
+  @Test
+  public void testMatchesStringBuilderVisualization() throws IOException {
+    Dungeon nodeDungeon = new DungeonModel(9, 12, false, 10, 40, 4, new SeededRandomizer(6));
+    for (Dungeon renderedDungeon : new Dungeon[]{dungeon, nodeDungeon}) {
+      StringBuilder rendered = new StringBuilder();
+      new DungeonTextRenderer(renderedDungeon).render(rendered);
+      assertEquals(visualize(renderedDungeon), rendered.toString());
+      Move move = renderedDungeon.getPlayerCurrentLocation().getNextMoves().iterator().next();
+      renderedDungeon.movePlayer(move);
+      StringWriter writer = new StringWriter();
+      new DungeonTextRenderer(renderedDungeon).render(writer);
+      assertEquals(visualize(renderedDungeon), writer.toString());
+    }
+  }
+
+  @Test
+  public void testWindowIsPartOfWholeMap() throws IOException {
+    StringBuilder whole = new StringBuilder();
+    renderer.render(whole);
+    StringBuilder window = new StringBuilder();
+    renderer.render(window, 0, 0, dungeon.rows(), dungeon.columns());
+    assertEquals(whole.toString(), window.toString());
+    String[] wholeLines = whole.toString().split("\n", -1);
+    window.setLength(0);
+    int edges = renderer.render(window, 4, 0, 6, dungeon.columns());
+    String[] windowLines = window.toString().split("\n", -1);
+    for (int line = 1; line <= 12; line++) {
+      assertEquals(wholeLines[line + 8], windowLines[line]);
+    }
+    assertEquals(countEdges(4, 0, 6, dungeon.columns()), edges);
+  }
+
+  @Test
+  public void testWindowSize() throws IOException {
+    StringBuilder window = new StringBuilder();
+    int edges = renderer.render(window, 7, 11, 3, 5);
+    String[] lines = window.toString().split("\n", -1);
+    assertEquals(1 + 2 * 3 + 2, lines.length);
+    for (int row = 0; row < 3; row++) {
+      assertEquals(15, lines[1 + 2 * row].length());
+      assertTrue(lines[2 + 2 * row].length() >= 15);
+      assertTrue(lines[2 + 2 * row].length() <= 20);
+    }
+    assertEquals(countEdges(7, 11, 3, 5), edges);
+    assertEquals("Number of edges: " + edges, lines[lines.length - 1]);
+  }
+
+  @Test
+  public void testRendererIsReusable() throws IOException {
+    StringBuilder first = new StringBuilder();
+    renderer.render(first, 0, 0, 2, 2);
+    renderer.render(new StringBuilder());
+    StringBuilder second = new StringBuilder();
+    renderer.render(second, 0, 0, 2, 2);
+    assertEquals(first.toString(), second.toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWindowOutside() throws IOException {
+    renderer.render(new StringBuilder(), 15, 0, 6, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyWindow() throws IOException {
+    renderer.render(new StringBuilder(), 0, 0, 0, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullOutput() throws IOException {
+    renderer.render(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullDungeon() {
+    new DungeonTextRenderer(null);
+  }
+
+  private int countEdges(int firstRow, int firstColumn, int rows, int columns) {
+    int edges = 0;
+    for (int row = firstRow; row < firstRow + rows; row++) {
+      for (int column = firstColumn; column < firstColumn + columns; column++) {
+        Location location = dungeon.getLocation(row, column);
+        edges += location.hasMove(Move.NORTH) ? 1 : 0;
+        edges += location.hasMove(Move.EAST) ? 1 : 0;
+      }
+    }
+    return edges;
+  }
+
+  //The map as it was built in one StringBuilder by the graphical view.
+  private static String visualize(ReadOnlyDungeon dungeon) {
+    Location startLocation = dungeon.getStartLocation();
+    Location endLocation = dungeon.getEndLocation();
+    Location playerCurrentLocation = dungeon.getPlayerCurrentLocation();
+    StringBuilder sb = new StringBuilder();
+    int count = 0;
+    for (int row = 0; row < dungeon.rows(); row++) {
+      List<Location> list = dungeon.getRow(row);
+      sb.append("\n");
+      for (Location locationNode : list) {
+        Set<Move> nextMoves = locationNode.getNextMoves();
+        if (nextMoves.contains(Move.NORTH)) {
+          sb.append("|");
+          count++;
+        } else {
+          sb.append(" ");
+        }
+        sb.append("  ");
+      }
+      sb.append("\n");
+      for (Location locationNode : list) {
+        if (compareLocations(startLocation, locationNode)
+                && compareLocations(playerCurrentLocation, locationNode)) {
+          sb.append("$");
+        } else if (compareLocations(startLocation, locationNode)) {
+          sb.append("S");
+        } else if (compareLocations(endLocation, locationNode)
+                && compareLocations(playerCurrentLocation, locationNode)) {
+          if (locationNode.hasMonster()) {
+            sb.append("M");
+          } else {
+            sb.append("*");
+          }
+        } else if (compareLocations(playerCurrentLocation, locationNode)) {
+          sb.append("P");
+        } else if (compareLocations(endLocation, locationNode)) {
+          sb.append("X");
+        }
+        if (locationNode.hasMonster()) {
+          sb.append("M");
+        } else {
+          switch (dungeon.getSmell(locationNode)) {
+            case NONE:
+              sb.append(0);
+              break;
+            case LESS:
+              sb.append(1);
+              break;
+            case MORE:
+              sb.append(2);
+              break;
+            default:
+              sb.append("N");
+          }
+        }
+        Set<Move> nextMoves = locationNode.getNextMoves();
+        if (nextMoves.contains(Move.EAST)) {
+          sb.append("--");
+          count++;
+        } else {
+          sb.append("  ");
+        }
+      }
+    }
+    sb.append("\n\nNumber of edges: ").append(count);
+    return sb.toString();
+  }
+
+  private static boolean compareLocations(Location locationA, Location locationB) {
+    return locationA.getRow() == locationB.getRow()
+            && locationA.getColumn() == locationB.getColumn();
+  }
+}
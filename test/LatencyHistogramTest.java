@@ -0,0 +1,125 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import dungeon.LatencyHistogram;
+import dungeon.LatencyMonitor;
+import dungeon.PlayerAction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the latency histogram and the latency monitor.
+ */
+public class LatencyHistogramTest {
+
+  @Test
+  public void testEmpty() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+    assertEquals(0, histogram.getPercentile(99));
+  }
+
+  @Test
+  public void testSmallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int value = 1; value <= 10; value++) {
+      histogram.record(value);
+    }
+    assertEquals(10, histogram.getCount());
+    assertEquals(5, histogram.getPercentile(50));
+    assertEquals(10, histogram.getPercentile(99));
+    assertEquals(1, histogram.getPercentile(0));
+    assertEquals(10, histogram.getMax());
+  }
+
+  @Test
+  public void testPercentilesWithinRelativeError() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 100_000; value++) {
+      histogram.record(value * 1000);
+    }
+    long p50 = histogram.getPercentile(50);
+    long p99 = histogram.getPercentile(99);
+    assertTrue(p50 >= 50_000_000L && p50 <= 50_000_000L * 17 / 16);
+    assertTrue(p99 >= 99_000_000L && p99 <= 100_000_000L);
+    assertEquals(100_000_000L, histogram.getPercentile(100));
+    assertEquals(100_000_000L, histogram.getMax());
+  }
+
+  @Test
+  public void testLargestValue() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(Long.MAX_VALUE);
+    assertEquals(Long.MAX_VALUE, histogram.getPercentile(50));
+  }
+
+  @Test
+  public void testConcurrentRecording() throws InterruptedException {
+    LatencyHistogram histogram = new LatencyHistogram();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      final int offset = t;
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 10_000; i++) {
+          histogram.record(i + offset);
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(40_000, histogram.getCount());
+    assertEquals(10_002, histogram.getMax());
+  }
+
+  @Test
+  public void testReset() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(100);
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getPercentile(50));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeDuration() {
+    new LatencyHistogram().record(-1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPercentile() {
+    new LatencyHistogram().getPercentile(101);
+  }
+
+  @Test
+  public void testMonitorCsv() throws IOException {
+    LatencyMonitor monitor = new LatencyMonitor();
+    monitor.getHistogram(PlayerAction.SHOOT).record(2_500_000);
+    StringBuilder csv = new StringBuilder();
+    monitor.writeCsv(csv);
+    String[] lines = csv.toString().split("\n");
+    assertEquals("action,count,p50_us,p99_us,max_us", lines[0]);
+    assertEquals(PlayerAction.values().length + 1, lines.length);
+    assertTrue(csv.toString().contains("\nSHOOT,1,"));
+    assertTrue(csv.toString().contains(",2500\n"));
+    assertTrue(csv.toString().contains("\nMOVE_KEY,0,0,0,0\n"));
+    assertTrue(monitor.toString().contains("SHOOT: count 1"));
+  }
+
+  @Test
+  public void testMonitorRecord() {
+    LatencyMonitor monitor = new LatencyMonitor();
+    monitor.record(PlayerAction.MOVE_CLICK, System.nanoTime());
+    assertEquals(1, monitor.getHistogram(PlayerAction.MOVE_CLICK).getCount());
+    monitor.reset();
+    assertEquals(0, monitor.getHistogram(PlayerAction.MOVE_CLICK).getCount());
+  }
+}
@@ -1,9 +1,13 @@
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import dungeon.Location;
@@ -28,6 +32,41 @@ public class LocationTest {
     assertEquals(0, nextMoves.size());
   }
 
+  @Test
+  public void testMoveMask() {
+    LocationNode node = new LocationNode(2, 3);
+    node.setNextMove(Move.EAST);
+    node.setNextMove(Move.NORTH);
+    assertEquals(Move.NORTH.getMask() | Move.EAST.getMask(), node.getMoveMask());
+    assertTrue(node.hasMove(Move.NORTH));
+    assertTrue(node.hasMove(Move.EAST));
+    assertFalse(node.hasMove(Move.SOUTH));
+    assertFalse(node.isCave());
+    assertEquals(List.of(Move.NORTH, Move.EAST), new ArrayList<>(node.getNextMoves()));
+    node.setNextMove(Move.WEST);
+    assertTrue(node.isCave());
+    assertEquals(Move.fromMask(node.getMoveMask()), node.getNextMoves());
+  }
+
+  @Test
+  public void testNextMovesAreCopies() {
+    LocationNode node = new LocationNode(2, 3);
+    node.setNextMove(Move.SOUTH);
+    node.getNextMoves().remove(Move.SOUTH);
+    assertTrue(node.hasMove(Move.SOUTH));
+    assertEquals(1, node.getNextMoves().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testHasMoveNull() {
+    location.hasMove(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidMoveMask() {
+    Move.fromMask(16);
+  }
+
   @Test
   public void getTreasure() {
     Map<Treasure, Integer> treasure = location.getTreasure();
@@ -53,4 +92,40 @@ public class LocationTest {
     assertFalse(location.hasTreasure());
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testTreasureCounts() {
+    LocationNode node = new LocationNode(0, 0);
+    node.setTreasure(Treasure.RUBIES, 2);
+    node.setTreasure(Treasure.DIAMONDS, 1);
+    node.setTreasure(Treasure.RUBIES, 3);
+    assertEquals(1, node.getTreasureCount(Treasure.DIAMONDS));
+    assertEquals(0, node.getTreasureCount(Treasure.SAPPHIRES));
+    assertEquals(5, node.getTreasureCount(Treasure.RUBIES));
+    assertEquals(6, node.getTotalTreasure());
+    assertEquals(List.of(Treasure.DIAMONDS, Treasure.RUBIES),
+            new ArrayList<>(node.getTreasure().keySet()));
+    node.pickTreasure(Treasure.RUBIES, 5);
+    assertEquals(0, node.getTreasureCount(Treasure.RUBIES));
+    assertFalse(node.getTreasure().containsKey(Treasure.RUBIES));
+    assertTrue(node.hasTreasure());
+  }
+
+  @Test
+  public void testPickAllTreasure() {
+    LocationNode node = new LocationNode(0, 0);
+    node.setTreasure(Treasure.SAPPHIRES, 4);
+    assertArrayEquals(new int[]{0, 4, 0}, node.pickAllTreasure());
+    assertFalse(node.hasTreasure());
+    assertEquals(0, node.getTotalTreasure());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTreasureCountNull() {
+    location.getTreasureCount(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPickMissingTreasure() {
+    new LocationNode(0, 0).pickTreasure(Treasure.DIAMONDS, 0);
+  }
+}
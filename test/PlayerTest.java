@@ -1,8 +1,10 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import dungeon.Player;
 import dungeon.PlayerModel;
+import dungeon.Treasure;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -29,4 +31,32 @@ public class PlayerTest {
   public void hasTreasure() {
     assertFalse(player.hasTreasure());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testTreasureCounts() {
+    PlayerModel model = new PlayerModel();
+    model.addToTreasure(Treasure.SAPPHIRES, 2);
+    model.addToTreasure(new int[]{1, 0, 3});
+    assertEquals(1, model.getTreasureCount(Treasure.DIAMONDS));
+    assertEquals(2, model.getTreasureCount(Treasure.SAPPHIRES));
+    assertEquals(3, model.getTreasureCount(Treasure.RUBIES));
+    assertEquals(6, model.getTotalTreasure());
+    assertEquals(3, model.getTreasure().size());
+    assertTrue(model.hasTreasure());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTreasureCountNull() {
+    player.getTreasureCount(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddTreasureWrongLength() {
+    new PlayerModel().addToTreasure(new int[]{1, 2});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddTreasureNegative() {
+    new PlayerModel().addToTreasure(new int[]{1, -2, 0});
+  }
+}
@@ -0,0 +1,92 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import randomizer.SeededRandomizer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the SeededRandomizer.
+ */
+public class SeededRandomizerTest {
+
+  @Test
+  public void testSameSeedSameSequence() {
+    SeededRandomizer first = new SeededRandomizer(2021);
+    SeededRandomizer second = new SeededRandomizer(2021);
+    assertEquals(2021, first.getSeed());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(first.getRandomValue(0, i), second.getRandomValue(0, i));
+    }
+  }
+
+  @Test
+  public void testValuesInRange() {
+    SeededRandomizer randomizer = new SeededRandomizer(5);
+    boolean[] seen = new boolean[7];
+    for (int i = 0; i < 1000; i++) {
+      int value = randomizer.getRandomValue(3, 9);
+      assertTrue(value >= 3 && value <= 9);
+      seen[value - 3] = true;
+    }
+    for (boolean value : seen) {
+      assertTrue(value);
+    }
+    assertEquals(4, randomizer.getRandomValue(4, 4));
+    int value = randomizer.getRandomValue(Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+    assertTrue(value >= Integer.MAX_VALUE - 1);
+  }
+
+  @Test
+  public void testFillMatchesSingleValues() {
+    SeededRandomizer single = new SeededRandomizer(77);
+    SeededRandomizer bulk = new SeededRandomizer(77);
+    int[] expected = new int[500];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = single.getRandomValue(-10, 10);
+    }
+    int[] values = new int[500];
+    bulk.fill(values, -10, 10);
+    assertArrayEquals(expected, values);
+    assertEquals(single.getRandomValue(0, 100), bulk.getRandomValue(0, 100));
+  }
+
+  @Test
+  public void testSplitIsReproducible() {
+    SeededRandomizer first = new SeededRandomizer(9);
+    SeededRandomizer second = new SeededRandomizer(9);
+    SeededRandomizer firstChild = first.split();
+    SeededRandomizer secondChild = second.split();
+    int[] firstValues = new int[100];
+    int[] secondValues = new int[100];
+    firstChild.fill(firstValues, 0, 1000);
+    secondChild.fill(secondValues, 0, 1000);
+    assertArrayEquals(firstValues, secondValues);
+    assertEquals(first.getRandomValue(0, 1000), second.getRandomValue(0, 1000));
+  }
+
+  @Test
+  public void testSplitIsIndependent() {
+    SeededRandomizer parent = new SeededRandomizer(9);
+    SeededRandomizer child = parent.split();
+    int[] parentValues = new int[100];
+    int[] childValues = new int[100];
+    parent.fill(parentValues, 0, 1000);
+    child.fill(childValues, 0, 1000);
+    assertFalse(Arrays.equals(parentValues, childValues));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidBounds() {
+    new SeededRandomizer(1).getRandomValue(5, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFillNull() {
+    new SeededRandomizer(1).fill(null, 0, 4);
+  }
+}
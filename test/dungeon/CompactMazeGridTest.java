@@ -0,0 +1,250 @@
+package dungeon;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the package private CompactMazeGrid class and its CompactLocation views.
+ */
+public class CompactMazeGridTest {
+
+  private CompactMazeGrid grid;
+
+  @Before
+  public void setUp() {
+    grid = new CompactMazeGrid(5, 4);
+  }
+
+  @Test
+  public void testEmptyCell() {
+    LocationPrivate location = grid.getLocation(2, 3);
+    assertEquals(2, location.getRow());
+    assertEquals(3, location.getColumn());
+    assertEquals(0, location.getNextMoves().size());
+    assertEquals(0, location.getTreasure().size());
+    assertFalse(location.hasTreasure());
+    assertFalse(location.hasArrows());
+    assertFalse(location.hasMonster());
+    assertNull(location.getMonster());
+    assertFalse(location.isExplored());
+    assertTrue(location.isCave());
+  }
+
+  @Test
+  public void testViewsShareState() {
+    LocationPrivate location = grid.getLocation(1, 1);
+    location.setNextMove(Move.NORTH);
+    location.setNextMove(Move.SOUTH);
+    location.setTreasure(Treasure.RUBIES, 4);
+    location.setTreasure(Treasure.RUBIES, 1);
+    location.setArrows(3);
+    location.setExplored();
+    LocationPrivate sameLocation = grid.getLocation(1, 1);
+    assertEquals(location, sameLocation);
+    assertEquals(location.hashCode(), sameLocation.hashCode());
+    Set<Move> nextMoves = sameLocation.getNextMoves();
+    assertEquals(2, nextMoves.size());
+    assertTrue(nextMoves.contains(Move.NORTH));
+    assertTrue(nextMoves.contains(Move.SOUTH));
+    assertFalse(sameLocation.isCave());
+    Map<Treasure, Integer> treasure = sameLocation.getTreasure();
+    assertEquals(1, treasure.size());
+    assertEquals(5, (int) treasure.get(Treasure.RUBIES));
+    assertEquals(3, sameLocation.getArrows());
+    assertTrue(sameLocation.isExplored());
+    assertFalse(grid.getLocation(1, 2).isExplored());
+  }
+
+  @Test
+  public void testPickTreasureAndArrows() {
+    LocationPrivate location = grid.getLocation(0, 0);
+    location.setTreasure(Treasure.DIAMONDS, 2);
+    location.setTreasure(Treasure.SAPPHIRES, 1);
+    location.setArrows(2);
+    location.pickTreasure(Treasure.DIAMONDS, 2);
+    assertTrue(location.hasTreasure());
+    location.pickTreasure(Treasure.SAPPHIRES, 1);
+    assertFalse(location.hasTreasure());
+    assertEquals(2, location.pickArrows());
+    assertFalse(location.hasArrows());
+  }
+
+  @Test
+  public void testPickAllTreasure() {
+    LocationPrivate location = grid.getLocation(1, 1);
+    location.setTreasure(Treasure.DIAMONDS, 3);
+    location.setTreasure(Treasure.RUBIES, 2);
+    location.setArrows(1);
+    assertEquals(3, location.getTreasureCount(Treasure.DIAMONDS));
+    assertEquals(0, location.getTreasureCount(Treasure.SAPPHIRES));
+    assertEquals(5, location.getTotalTreasure());
+    assertArrayEquals(new int[]{3, 0, 2}, location.pickAllTreasure());
+    assertFalse(location.hasTreasure());
+    assertEquals(0, location.getTotalTreasure());
+    assertEquals(1, location.getArrows());
+  }
+
+  @Test
+  public void testMonster() {
+    LocationPrivate location = grid.getLocation(4, 3);
+    location.setMonster();
+    assertTrue(location.hasMonster());
+    Monster monster = location.getMonster();
+    assertEquals(2, monster.getHealth());
+    assertFalse(monster.isInjured());
+    location.hitMonster();
+    assertTrue(monster.isInjured());
+    assertFalse(monster.isDead());
+    location.hitMonster();
+    assertTrue(monster.isDead());
+    assertFalse(location.hasMonster());
+  }
+
+  @Test
+  public void testCopyRestoresMonsters() {
+    LocationPrivate injured = grid.getLocation(0, 1);
+    injured.setMonster();
+    injured.hitMonster();
+    LocationPrivate dead = grid.getLocation(0, 2);
+    dead.setMonster();
+    dead.hitMonster();
+    dead.hitMonster();
+    grid.getLocation(0, 3).setArrows(1);
+    MazeGrid copy = grid.copy();
+    assertEquals(2, copy.getLocation(0, 1).getMonster().getHealth());
+    assertNull(copy.getLocation(0, 2).getMonster());
+    assertEquals(1, copy.getLocation(0, 3).getArrows());
+    copy.getLocation(0, 3).pickArrows();
+    assertEquals(1, grid.getLocation(0, 3).getArrows());
+  }
+
+  @Test
+  public void testCopiesAreIndependent() {
+    CompactMazeGrid large = new CompactMazeGrid(40, 40);
+    large.getLocation(0, 0).setNextMove(Move.EAST);
+    large.getLocation(39, 39).setArrows(2);
+    large.getLocation(39, 39).setMonster();
+    MazeGrid copy = large.copy();
+    MazeGrid copyOfCopy = copy.copy();
+    copy.getLocation(39, 39).pickArrows();
+    copy.getLocation(39, 39).hitMonster();
+    copy.setExplored(0);
+    large.getLocation(20, 5).setTreasure(Treasure.RUBIES, 3);
+    assertEquals(2, large.getLocation(39, 39).getArrows());
+    assertEquals(0, copy.getLocation(39, 39).getArrows());
+    assertEquals(2, copyOfCopy.getLocation(39, 39).getArrows());
+    assertEquals(Otyugh.DEFAULT_HEALTH, large.getLocation(39, 39).getMonster().getHealth());
+    assertEquals(Otyugh.DEFAULT_HEALTH, copy.copy().getLocation(39, 39).getMonster().getHealth());
+    assertFalse(large.getLocation(0, 0).isExplored());
+    assertTrue(copy.getLocation(0, 0).isExplored());
+    assertFalse(copyOfCopy.getLocation(0, 0).isExplored());
+    assertEquals(0, copy.getLocation(20, 5).getTreasureCount(Treasure.RUBIES));
+    assertEquals(Move.EAST.getMask(), copyOfCopy.getMoveMask(0));
+  }
+
+  @Test
+  public void testCopiesShareTopologyUntilChanged() {
+    grid.getLocation(1, 1).setNextMove(Move.NORTH);
+    MazeGrid copy = grid.copy();
+    copy.getLocation(1, 1).setNextMove(Move.SOUTH);
+    grid.getLocation(2, 2).setNextMove(Move.WEST);
+    assertEquals(Move.NORTH.getMask(), grid.getMoveMask(5));
+    assertEquals(Move.NORTH.getMask() | Move.SOUTH.getMask(), copy.getMoveMask(5));
+    assertEquals(0, copy.getMoveMask(10));
+  }
+
+  @Test
+  public void testCopyOfConvertedNodeGrid() {
+    NodeMazeGrid nodes = new NodeMazeGrid(5, 4);
+    nodes.getLocation(0, 1).setNextMove(Move.WEST);
+    nodes.getLocation(0, 1).setTreasure(Treasure.SAPPHIRES, 4);
+    nodes.getLocation(0, 1).setArrows(3);
+    nodes.getLocation(0, 1).setExplored();
+    nodes.getLocation(3, 2).setMonster();
+    nodes.getLocation(3, 2).hitMonster();
+    nodes.getLocation(3, 3).setMonster();
+    nodes.getLocation(3, 3).hitMonster();
+    nodes.getLocation(3, 3).hitMonster();
+    MazeGrid copy = CompactMazeGrid.asCompact(nodes).copy();
+    LocationPrivate location = copy.getLocation(0, 1);
+    assertEquals(Move.WEST.getMask(), location.getMoveMask());
+    assertEquals(4, location.getTreasureCount(Treasure.SAPPHIRES));
+    assertEquals(3, location.getArrows());
+    assertTrue(location.isExplored());
+    assertEquals(Otyugh.DEFAULT_HEALTH, copy.getMonsterHealth(14));
+    assertEquals(-1, copy.getMonsterHealth(15));
+    location.pickArrows();
+    assertEquals(3, nodes.getLocation(0, 1).getArrows());
+  }
+
+  @Test
+  public void testWriteAndRead() throws IOException {
+    CompactMazeGrid large = new CompactMazeGrid(40, 30);
+    large.getLocation(0, 0).setNextMove(Move.EAST);
+    large.getLocation(39, 29).setNextMove(Move.NORTH);
+    large.getLocation(39, 29).setTreasure(Treasure.DIAMONDS, 2);
+    large.getLocation(39, 29).setArrows(3);
+    large.getLocation(39, 29).setExplored();
+    large.getLocation(20, 1).setMonster();
+    large.getLocation(20, 1).hitMonster();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    large.write(Channels.newChannel(out));
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+    CompactMazeGrid read = CompactMazeGrid.read(buffer, 40, 30);
+    assertFalse(buffer.hasRemaining());
+    for (int cell = 0; cell < 40 * 30; cell++) {
+      assertEquals(large.getMoveMask(cell), read.getMoveMask(cell));
+      assertEquals(large.getMonsterHealth(cell), read.getMonsterHealth(cell));
+      assertEquals(large.getArrows(cell), read.getArrows(cell));
+      assertEquals(large.isExplored(cell), read.isExplored(cell));
+      assertEquals(large.getTreasure(cell, Treasure.DIAMONDS),
+              read.getTreasure(cell, Treasure.DIAMONDS));
+    }
+    assertEquals(Otyugh.DEFAULT_HEALTH, read.copy().getMonsterHealth(20 * 30 + 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReadIncomplete() {
+    CompactMazeGrid.read(ByteBuffer.allocate(20), 5, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReadMonsterOutsideGrid() throws IOException {
+    CompactMazeGrid small = new CompactMazeGrid(5, 4);
+    small.getLocation(2, 3).setMonster();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    small.write(Channels.newChannel(out));
+    ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(buffer.limit() - Integer.BYTES, 5 * 4);
+    CompactMazeGrid.read(buffer, 5, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTreasureLimit() {
+    grid.getLocation(0, 0).setTreasure(Treasure.DIAMONDS, CompactMazeGrid.MAX_TREASURE + 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testArrowsLimit() {
+    grid.getLocation(0, 0).setArrows(CompactMazeGrid.MAX_ARROWS + 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCoordinates() {
+    grid.getLocation(5, 0);
+  }
+}
@@ -0,0 +1,67 @@
+package dungeon;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the package private DisjointSet class.
+ */
+public class DisjointSetTest {
+
+  private DisjointSet disjointSet;
+
+  @Before
+  public void setUp() {
+    disjointSet = new DisjointSet(10);
+  }
+
+  @Test
+  public void testInitialComponents() {
+    assertEquals(10, disjointSet.size());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i, disjointSet.find(i));
+    }
+  }
+
+  @Test
+  public void testUnion() {
+    assertTrue(disjointSet.union(1, 2));
+    assertTrue(disjointSet.union(3, 4));
+    assertEquals(disjointSet.find(1), disjointSet.find(2));
+    assertNotEquals(disjointSet.find(1), disjointSet.find(3));
+    assertTrue(disjointSet.union(2, 4));
+    assertEquals(disjointSet.find(1), disjointSet.find(3));
+  }
+
+  @Test
+  public void testUnionSameComponent() {
+    assertTrue(disjointSet.union(5, 6));
+    assertTrue(disjointSet.union(6, 7));
+    assertFalse(disjointSet.union(5, 7));
+    assertFalse(disjointSet.union(7, 7));
+  }
+
+  @Test
+  public void testLongChain() {
+    DisjointSet chain = new DisjointSet(100000);
+    for (int i = 1; i < chain.size(); i++) {
+      assertTrue(chain.union(i - 1, i));
+    }
+    assertEquals(chain.find(0), chain.find(chain.size() - 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFindOutOfRange() {
+    disjointSet.find(10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeSize() {
+    new DisjointSet(-1);
+  }
+}
@@ -0,0 +1,137 @@
+package dungeon;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Tests the package private DungeonCanvas class.
+ */
+public class DungeonCanvasTest {
+  private static final int[] MARKERS = {0, 1, 0};
+  private static final int[] LOCATION = new int[2 + Treasure.values().length];
+  private static final int[] PLAYER = new int[1 + Treasure.values().length];
+
+  private DungeonCanvas canvas;
+  private AtomicInteger tilesCreated;
+
+  @Before
+  public void setUp() throws IOException {
+    tilesCreated = new AtomicInteger();
+    SpriteCache sprites = new SpriteCache() {
+      @Override
+      BufferedImage createImage(int width, int height) {
+        tilesCreated.incrementAndGet();
+        return super.createImage(width, height);
+      }
+    };
+    sprites.load("/blank.png");
+    tilesCreated.set(0);
+    canvas = new DungeonCanvas(sprites);
+    //Every cell of a screen has its own explored tile.
+    int[] codes = new int[200 * 150];
+    for (int cell = 0; cell < codes.length; cell++) {
+      codes[cell] = cell % 1024 << 1 | 1;
+    }
+    canvas.setDungeon(new DungeonSnapshot(200, 150, MARKERS, null, codes, LOCATION, PLAYER,
+            false, false));
+  }
+
+  @Test
+  public void testPreferredSize() {
+    assertEquals(new Dimension(150 * DungeonCanvas.CELL_SIZE, 200 * DungeonCanvas.CELL_SIZE),
+            canvas.getPreferredSize());
+  }
+
+  @Test
+  public void testCellAt() {
+    canvas.setSize(canvas.getPreferredSize());
+    assertEquals(0, canvas.getRowAt(0));
+    assertEquals(2, canvas.getRowAt(2 * DungeonCanvas.CELL_SIZE + 10));
+    assertEquals(149, canvas.getColumnAt(150 * DungeonCanvas.CELL_SIZE - 1));
+    assertEquals(-1, canvas.getColumnAt(150 * DungeonCanvas.CELL_SIZE));
+    assertEquals(-1, canvas.getRowAt(-1));
+    assertEquals(new Rectangle(3 * DungeonCanvas.CELL_SIZE, 2 * DungeonCanvas.CELL_SIZE,
+            DungeonCanvas.CELL_SIZE, DungeonCanvas.CELL_SIZE), canvas.getCellBounds(2, 3));
+  }
+
+  @Test
+  public void testSmallDungeonIsCentered() {
+    canvas.setSize(150 * DungeonCanvas.CELL_SIZE + 100, 200 * DungeonCanvas.CELL_SIZE + 40);
+    assertEquals(-1, canvas.getColumnAt(49));
+    assertEquals(0, canvas.getColumnAt(50));
+    assertEquals(-1, canvas.getRowAt(19));
+    assertEquals(0, canvas.getRowAt(20));
+    assertEquals(new Rectangle(50, 20, DungeonCanvas.CELL_SIZE, DungeonCanvas.CELL_SIZE),
+            canvas.getCellBounds(0, 0));
+  }
+
+  @Test
+  public void testPaintsOnlyCellsInClip() {
+    canvas.setSize(canvas.getPreferredSize());
+    BufferedImage image = new BufferedImage(300, 200, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D graphics = image.createGraphics();
+    graphics.setClip(0, 0, 300, 200);
+    canvas.paint(graphics);
+    graphics.dispose();
+    assertEquals(5 * 4, tilesCreated.get());
+    assertNotEquals(0, image.getRGB(299, 199) >>> 24);
+    tilesCreated.set(0);
+    graphics = image.createGraphics();
+    Rectangle cell = canvas.getCellBounds(100, 70);
+    graphics.translate(-cell.x, -cell.y);
+    graphics.setClip(cell);
+    canvas.paint(graphics);
+    graphics.dispose();
+    assertEquals(1, tilesCreated.get());
+  }
+
+  @Test
+  public void testUpdateOnlyChangesCellsInSnapshot() {
+    canvas.setSize(canvas.getPreferredSize());
+    BufferedImage image = new BufferedImage(300, 200, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D graphics = image.createGraphics();
+    graphics.setClip(0, 0, 300, 200);
+    canvas.paint(graphics);
+    graphics.dispose();
+    canvas.update(new DungeonSnapshot(200, 150, MARKERS, new int[]{1}, new int[]{0}, LOCATION,
+            PLAYER, false, false));
+    tilesCreated.set(0);
+    graphics = image.createGraphics();
+    graphics.setClip(0, 0, 300, 200);
+    canvas.paint(graphics);
+    graphics.dispose();
+    assertEquals(1, tilesCreated.get());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUpdateOtherDungeon() {
+    canvas.update(new DungeonSnapshot(20, 150, MARKERS, new int[]{1}, new int[]{0}, LOCATION,
+            PLAYER, false, false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testChangedCellsOnly() {
+    canvas.setDungeon(new DungeonSnapshot(200, 150, MARKERS, new int[]{1}, new int[]{0},
+            LOCATION, PLAYER, false, false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullSprites() {
+    new DungeonCanvas(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullDungeon() {
+    canvas.setDungeon(null);
+  }
+}
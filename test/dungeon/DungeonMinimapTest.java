@@ -0,0 +1,115 @@
+package dungeon;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Dimension;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import randomizer.SeededRandomizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Tests the package private DungeonMinimap class.
+ */
+public class DungeonMinimapTest {
+  private static final int UNEXPLORED = 0x303030;
+  private static final int EXPLORED = 0xE0C890;
+  private static final int PLAYER = 0xE02020;
+  private static final int START = 0x20B020;
+  private static final int END = 0x2040E0;
+
+  private Dungeon dungeon;
+  private DungeonMinimap minimap;
+  private AtomicInteger locationsRead;
+  private AtomicInteger cellsChanged;
+  private ReadOnlyDungeon counted;
+
+  @Before
+  public void setUp() {
+    dungeon = new DungeonModel(200, 150, false, 0, 50, 1, new SeededRandomizer(5),
+            MazeStorage.COMPACT);
+    minimap = new DungeonMinimap();
+    locationsRead = new AtomicInteger();
+    cellsChanged = new AtomicInteger();
+    counted = (ReadOnlyDungeon) Proxy.newProxyInstance(
+        getClass().getClassLoader(), new Class<?>[]{ReadOnlyDungeon.class},
+        (proxy, method, args) -> {
+          if (method.getName().equals("getLocation")) {
+            locationsRead.incrementAndGet();
+          }
+          return method.invoke(dungeon, args);
+        });
+    minimap.setDungeon(DungeonSnapshot.of(counted));
+    dungeon.addDungeonListener(change -> {
+      minimap.update(DungeonSnapshot.of(counted, change.getCellChanges()));
+      cellsChanged.addAndGet(change.getCellChanges().size());
+    });
+  }
+
+  @Test
+  public void testPreferredSize() {
+    assertEquals(new Dimension(150, 200), minimap.getPreferredSize());
+    minimap.setDungeon(DungeonSnapshot.of(
+            new DungeonModel(10, 20, false, 0, 50, 1, new SeededRandomizer(5))));
+    assertEquals(new Dimension(160, 80), minimap.getPreferredSize());
+  }
+
+  @Test
+  public void testColors() {
+    Location start = dungeon.getStartLocation();
+    Location end = dungeon.getEndLocation();
+    assertEquals(PLAYER, minimap.getPixel(start.getRow(), start.getColumn()));
+    assertEquals(END, minimap.getPixel(end.getRow(), end.getColumn()));
+    int unexplored = 0;
+    for (int row = 0; row < dungeon.rows(); row++) {
+      for (int column = 0; column < dungeon.columns(); column++) {
+        if (minimap.getPixel(row, column) == UNEXPLORED) {
+          unexplored++;
+        }
+      }
+    }
+    assertEquals(200 * 150 - 2, unexplored);
+  }
+
+  @Test
+  public void testMoveOnlyUpdatesChangedCells() {
+    Location start = dungeon.getStartLocation();
+    Move move = start.getNextMoves().iterator().next();
+    locationsRead.set(0);
+    dungeon.movePlayer(move);
+    Location next = dungeon.getPlayerCurrentLocation();
+    assertNotEquals(start.getRow() * 150 + start.getColumn(),
+            next.getRow() * 150 + next.getColumn());
+    assertEquals(START, minimap.getPixel(start.getRow(), start.getColumn()));
+    assertEquals(PLAYER, minimap.getPixel(next.getRow(), next.getColumn()));
+    assertEquals(cellsChanged.get(), locationsRead.get());
+    dungeon.movePlayer(move.getOpposite());
+    assertEquals(EXPLORED, minimap.getPixel(next.getRow(), next.getColumn()));
+    assertEquals(PLAYER, minimap.getPixel(start.getRow(), start.getColumn()));
+  }
+
+  @Test
+  public void testCellAt() {
+    assertEquals(0, minimap.getRowAt(0));
+    assertEquals(199, minimap.getRowAt(199));
+    assertEquals(-1, minimap.getRowAt(200));
+    assertEquals(149, minimap.getColumnAt(149));
+    assertEquals(-1, minimap.getColumnAt(150));
+    assertEquals(-1, minimap.getColumnAt(-1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullDungeon() {
+    minimap.setDungeon(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testChangedCellsOnly() {
+    minimap.setDungeon(DungeonSnapshot.of(dungeon, Collections.emptyList()));
+  }
+}
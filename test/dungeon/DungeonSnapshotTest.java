@@ -0,0 +1,102 @@
+package dungeon;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import randomizer.SeededRandomizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the package private DungeonSnapshot class.
+ */
+public class DungeonSnapshotTest {
+  private Dungeon dungeon;
+  private List<DungeonChange> changes;
+
+  @Before
+  public void setUp() {
+    dungeon = new DungeonModel(20, 15, false, 0, 100, 1, new SeededRandomizer(5));
+    changes = new ArrayList<>();
+    dungeon.addDungeonListener(changes::add);
+  }
+
+  @Test
+  public void testEveryCell() {
+    DungeonSnapshot snapshot = DungeonSnapshot.of(dungeon);
+    Location start = dungeon.getStartLocation();
+    Location end = dungeon.getEndLocation();
+    assertTrue(snapshot.hasEveryCell());
+    assertEquals(20, snapshot.rows());
+    assertEquals(15, snapshot.columns());
+    assertEquals(20 * 15, snapshot.getCellCount());
+    assertEquals(start.getRow() * 15 + start.getColumn(), snapshot.getStartCell());
+    assertEquals(end.getRow() * 15 + end.getColumn(), snapshot.getEndCell());
+    assertEquals(snapshot.getStartCell(), snapshot.getPlayerCell());
+    assertEquals(TileCache.getCode(start, true, dungeon.getSmell(start)),
+            snapshot.getCode(snapshot.getStartCell()));
+    assertEquals(0, snapshot.getCode(snapshot.getEndCell()));
+    assertEquals(start.getMoveMask(), snapshot.getLocationMoveMask());
+    assertEquals(dungeon.getPlayerDescription().getArrows(), snapshot.getPlayerArrows());
+    assertFalse(snapshot.isGameOver());
+  }
+
+  @Test
+  public void testChangedCells() {
+    Location start = dungeon.getStartLocation();
+    Move move = start.getNextMoves().iterator().next();
+    dungeon.movePlayer(move);
+    Location next = dungeon.getPlayerCurrentLocation();
+    DungeonSnapshot snapshot = DungeonSnapshot.of(dungeon, changes.get(0).getCellChanges());
+    assertFalse(snapshot.hasEveryCell());
+    assertEquals(changes.get(0).getCellChanges().size(), snapshot.getCellCount());
+    assertEquals(next.getRow() * 15 + next.getColumn(), snapshot.getPlayerCell());
+    boolean foundStart = false;
+    for (int i = 0; i < snapshot.getCellCount(); i++) {
+      if (snapshot.getCell(i) == snapshot.getStartCell()) {
+        foundStart = true;
+        assertEquals(TileCache.getCode(start, false, dungeon.getSmell(start)),
+                snapshot.getCode(i));
+      }
+    }
+    assertTrue(foundStart);
+  }
+
+  @Test
+  public void testInventory() {
+    Location start = dungeon.getStartLocation();
+    int treasure = 0;
+    for (Treasure item : Treasure.values()) {
+      treasure += start.getTreasureCount(item);
+    }
+    DungeonSnapshot before = DungeonSnapshot.of(dungeon);
+    dungeon.playerPickTreasure();
+    DungeonSnapshot after = DungeonSnapshot.of(dungeon, changes.get(0).getCellChanges());
+    int picked = 0;
+    for (Treasure item : Treasure.values()) {
+      assertEquals(before.getLocationTreasure(item), after.getPlayerTreasure(item));
+      assertEquals(0, after.getLocationTreasure(item));
+      picked += after.getPlayerTreasure(item);
+    }
+    assertEquals(treasure, picked);
+    assertNotEquals(0, picked);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullDungeon() {
+    DungeonSnapshot.of(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongCodes() {
+    new DungeonSnapshot(2, 2, new int[3], null, new int[3],
+            new int[2 + Treasure.values().length], new int[1 + Treasure.values().length],
+            false, false);
+  }
+}
@@ -0,0 +1,80 @@
+package dungeon;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the package private EdgePool class.
+ */
+public class EdgePoolTest {
+
+  private EdgePool edgePool;
+
+  @Before
+  public void setUp() {
+    edgePool = new EdgePool(4);
+    edgePool.add(0, 1, Move.EAST);
+    edgePool.add(1, 2, Move.EAST);
+    edgePool.add(5, 1, Move.NORTH);
+    edgePool.add(6, 2, Move.NORTH);
+  }
+
+  @Test
+  public void testAdd() {
+    assertEquals(4, edgePool.remaining());
+    int slot = edgePool.draw(2);
+    assertEquals(5, edgePool.getCellA(slot));
+    assertEquals(1, edgePool.getCellB(slot));
+    assertEquals(Move.NORTH, edgePool.getMove(slot));
+    assertEquals(3, edgePool.remaining());
+  }
+
+  @Test
+  public void testDrawMatchesListRemoval() {
+    EdgePool pool = new EdgePool(1000);
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      pool.add(i, i + 1, Move.values()[i % 4]);
+      expected.add(i);
+    }
+    Random random = new Random(7);
+    while (!expected.isEmpty()) {
+      int index = random.nextInt(expected.size());
+      int slot = pool.draw(index);
+      int expectedCell = expected.remove(index);
+      assertEquals(expectedCell, pool.getCellA(slot));
+      assertEquals(expectedCell + 1, pool.getCellB(slot));
+      assertEquals(Move.values()[expectedCell % 4], pool.getMove(slot));
+      assertEquals(expected.size(), pool.remaining());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDrawOutOfRange() {
+    edgePool.draw(4);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAddWhenFull() {
+    edgePool.add(2, 3, Move.EAST);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAddAfterDraw() {
+    EdgePool pool = new EdgePool(2);
+    pool.add(0, 1, Move.EAST);
+    pool.draw(0);
+    pool.add(1, 2, Move.EAST);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddNullMove() {
+    new EdgePool(1).add(0, 1, null);
+  }
+}
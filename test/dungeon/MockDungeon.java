@@ -41,6 +41,27 @@ public class MockDungeon implements Dungeon {
     }
   }
 
+  /**
+   * Moves the player along the provided path in a single action.
+   *
+   * @param path the moves to be executed in order.
+   * @return the number of moves made.
+   * @throws IllegalArgumentException if path is null.
+   * @throws IllegalStateException    if game is over and player is dead.
+   */
+  @Override
+  public int movePlayer(Move... path) throws IllegalArgumentException, IllegalStateException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null");
+    }
+    int moves = 0;
+    while (moves < path.length && currentLocation.getNextMoves().contains(path[moves])) {
+      currentLocation = new LocationNode(6,6);
+      moves++;
+    }
+    return moves;
+  }
+
   /**
    * Makes the player pick the treasure at the current location.
    *
@@ -95,6 +116,49 @@ public class MockDungeon implements Dungeon {
     return null;
   }
 
+  /**
+   * Returns the number of rows in the maze of the dungeon.
+   *
+   * @return number of rows.
+   */
+  @Override
+  public int rows() {
+    return 0;
+  }
+
+  /**
+   * Returns the number of columns in the maze of the dungeon.
+   *
+   * @return number of columns.
+   */
+  @Override
+  public int columns() {
+    return 0;
+  }
+
+  /**
+   * Returns the location at the provided row and column of the maze.
+   *
+   * @param row    the row of the location.
+   * @param column the column of the location.
+   * @return the {@link Location} at the row and column.
+   */
+  @Override
+  public Location getLocation(int row, int column) {
+    return null;
+  }
+
+  /**
+   * Returns a read only view of a row of the maze.
+   *
+   * @param row the row of the maze.
+   * @return the locations of the row.
+   */
+  @Override
+  public List<Location> getRow(int row) {
+    return null;
+  }
+
   /**
    * Returns the starting location/cave in the maze.
    *
@@ -187,4 +251,24 @@ public class MockDungeon implements Dungeon {
   public boolean isPlayerDead() {
     return false;
   }
+
+  /**
+   * Registers a listener, the mock never changes so the listener is never called.
+   *
+   * @param listener the listener to register.
+   */
+  @Override
+  public void addDungeonListener(DungeonListener listener) {
+    //Do nothing
+  }
+
+  /**
+   * Removes a registered listener.
+   *
+   * @param listener the listener to remove.
+   */
+  @Override
+  public void removeDungeonListener(DungeonListener listener) {
+    //Do nothing
+  }
 }
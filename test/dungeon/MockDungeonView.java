@@ -10,6 +10,7 @@ public class MockDungeonView extends JFrame implements DungeonView {
   private DungeonGraphicalController listener;
   private ReadOnlyDungeon dungeon;
   private final StringBuilder stringBuilder;
+  private Runnable cancel;
 
   /**
    * Creates an instance of mock view of the dungeon for testing purposes.
@@ -57,8 +58,8 @@ public class MockDungeonView extends JFrame implements DungeonView {
   public void setSource(ReadOnlyDungeon dungeon) {
     stringBuilder.append("Setting Source");
     if (this.dungeon != null) {
-      boolean rowsMatch = this.dungeon.getMaze().size() == dungeon.getMaze().size();
-      boolean columnMatch = this.dungeon.getMaze().get(0).size() == dungeon.getMaze().get(0).size();
+      boolean rowsMatch = this.dungeon.rows() == dungeon.rows();
+      boolean columnMatch = this.dungeon.columns() == dungeon.columns();
       if (rowsMatch && columnMatch) {
         stringBuilder.append("Size Match");
       }
@@ -106,4 +107,27 @@ public class MockDungeonView extends JFrame implements DungeonView {
             + "mouse for navigation, 'A' to pickup arrows, 'T' to pickup treasure, 'Ctrl "
             + "+ arrow key' to shoot in that direction");
   }
+
+  @Override
+  public void showProgress(String message, Runnable cancel) {
+    stringBuilder.append("Showing Progress ").append(message);
+    stringBuilder.append("\n");
+    this.cancel = cancel;
+  }
+
+  @Override
+  public void hideProgress() {
+    stringBuilder.append("Hiding Progress");
+    stringBuilder.append("\n");
+    cancel = null;
+  }
+
+  /**
+   * Cancels the work shown in progress as if the user clicked cancel.
+   */
+  public void cancelProgress() {
+    if (cancel != null) {
+      cancel.run();
+    }
+  }
 }
@@ -0,0 +1,100 @@
+package dungeon;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the copies of the package private NodeMazeGrid class.
+ */
+public class NodeMazeGridTest {
+
+  private NodeMazeGrid grid;
+
+  @Before
+  public void setUp() {
+    grid = new NodeMazeGrid(5, 4);
+  }
+
+  @Test
+  public void testCopyIsNodeGrid() {
+    assertTrue(grid.copy() instanceof NodeMazeGrid);
+    assertTrue(grid.copy().getLocation(0, 0) instanceof LocationNode);
+  }
+
+  @Test
+  public void testCopyRestoresMonsters() {
+    LocationPrivate injured = grid.getLocation(0, 1);
+    injured.setMonster();
+    injured.hitMonster();
+    LocationPrivate dead = grid.getLocation(0, 2);
+    dead.setMonster();
+    dead.hitMonster();
+    dead.hitMonster();
+    grid.getLocation(0, 3).setArrows(1);
+    MazeGrid copy = grid.copy();
+    assertEquals(2, copy.getLocation(0, 1).getMonster().getHealth());
+    assertNull(copy.getLocation(0, 2).getMonster());
+    assertEquals(1, copy.getLocation(0, 3).getArrows());
+    copy.getLocation(0, 3).pickArrows();
+    assertEquals(1, grid.getLocation(0, 3).getArrows());
+    assertEquals(1, grid.getMonsterHealth(1));
+    assertEquals(0, grid.getMonsterHealth(2));
+  }
+
+  @Test
+  public void testSharedRowKeepsWoundedMonster() {
+    grid.getLocation(3, 1).setMonster();
+    MazeGrid copy = grid.copy();
+    grid.getLocation(3, 1).hitMonster();
+    grid.getLocation(3, 2).setArrows(4);
+    assertEquals(1, grid.getMonsterHealth(13));
+    assertEquals(Otyugh.DEFAULT_HEALTH, copy.getMonsterHealth(13));
+    assertEquals(0, copy.getLocation(3, 2).getArrows());
+    MazeGrid copyOfGrid = grid.copy();
+    grid.getLocation(3, 0).setExplored();
+    assertEquals(1, grid.getMonsterHealth(13));
+    assertEquals(Otyugh.DEFAULT_HEALTH, copyOfGrid.getMonsterHealth(13));
+    assertEquals(4, copyOfGrid.getLocation(3, 2).getArrows());
+  }
+
+  @Test
+  public void testCopiesAreIndependent() {
+    NodeMazeGrid large = new NodeMazeGrid(40, 40);
+    large.getLocation(0, 0).setNextMove(Move.EAST);
+    large.getLocation(39, 39).setArrows(2);
+    large.getLocation(39, 39).setMonster();
+    MazeGrid copy = large.copy();
+    MazeGrid copyOfCopy = copy.copy();
+    copy.getLocation(39, 39).pickArrows();
+    copy.getLocation(39, 39).hitMonster();
+    copy.setExplored(0);
+    large.getLocation(20, 5).setTreasure(Treasure.RUBIES, 3);
+    assertEquals(2, large.getLocation(39, 39).getArrows());
+    assertEquals(0, copy.getLocation(39, 39).getArrows());
+    assertEquals(2, copyOfCopy.getLocation(39, 39).getArrows());
+    assertEquals(Otyugh.DEFAULT_HEALTH, large.getLocation(39, 39).getMonster().getHealth());
+    assertEquals(1, copy.getMonsterHealth(39 * 40 + 39));
+    assertEquals(Otyugh.DEFAULT_HEALTH, copy.copy().getLocation(39, 39).getMonster().getHealth());
+    assertFalse(large.getLocation(0, 0).isExplored());
+    assertTrue(copy.getLocation(0, 0).isExplored());
+    assertFalse(copyOfCopy.getLocation(0, 0).isExplored());
+    assertEquals(0, copy.getLocation(20, 5).getTreasureCount(Treasure.RUBIES));
+    assertEquals(Move.EAST.getMask(), copyOfCopy.getMoveMask(0));
+  }
+
+  @Test
+  public void testMovesAreCopiedOnWrite() {
+    grid.getLocation(1, 1).setNextMove(Move.NORTH);
+    MazeGrid copy = grid.copy();
+    copy.getLocation(1, 1).setNextMove(Move.SOUTH);
+    grid.getLocation(2, 2).setNextMove(Move.WEST);
+    assertEquals(Move.NORTH.getMask(), grid.getMoveMask(5));
+    assertEquals(Move.NORTH.getMask() | Move.SOUTH.getMask(), copy.getMoveMask(5));
+    assertEquals(0, copy.getMoveMask(10));
+  }
+}
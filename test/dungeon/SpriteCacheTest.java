@@ -0,0 +1,88 @@
+package dungeon;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the package private SpriteCache class.
+ */
+public class SpriteCacheTest {
+
+  private SpriteCache sprites;
+
+  @Before
+  public void setUp() {
+    sprites = new SpriteCache();
+  }
+
+  @Test
+  public void testLoadAtOwnSize() throws IOException {
+    sprites.load("/player.png");
+    BufferedImage player = sprites.get("/player.png");
+    assertEquals(160, player.getWidth());
+    assertEquals(160, player.getHeight());
+    assertSame(player, sprites.get("/player.png"));
+    assertTrue(hasVisiblePixel(player));
+  }
+
+  @Test
+  public void testLoadScaled() throws IOException {
+    sprites.load("/player.png", 30, 30);
+    sprites.load("/arrow-white.png", 20, 2);
+    BufferedImage player = sprites.get("/player.png", 30, 30);
+    assertEquals(30, player.getWidth());
+    assertEquals(30, player.getHeight());
+    assertTrue(hasVisiblePixel(player));
+    assertEquals(20, sprites.get("/arrow-white.png", 20, 2).getWidth());
+    assertNull(sprites.get("/player.png"));
+    assertNull(sprites.get("/player.png", 15, 15));
+  }
+
+  @Test
+  public void testNotLoaded() {
+    assertNull(sprites.get("/ruby.png"));
+    assertNull(sprites.get("/ruby.png", 15, 15));
+  }
+
+  @Test
+  public void testCreateImage() {
+    BufferedImage image = sprites.createImage(64, 32);
+    assertEquals(64, image.getWidth());
+    assertEquals(32, image.getHeight());
+    assertEquals(0, image.getRGB(10, 10) >>> 24);
+  }
+
+  @Test(expected = IOException.class)
+  public void testMissingImage() throws IOException {
+    sprites.load("/missing.png");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPath() throws IOException {
+    sprites.load(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() throws IOException {
+    sprites.load("/ruby.png", 0, 15);
+  }
+
+  private boolean hasVisiblePixel(BufferedImage image) {
+    for (int y = 0; y < image.getHeight(); y++) {
+      for (int x = 0; x < image.getWidth(); x++) {
+        if (image.getRGB(x, y) >>> 24 != 0) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+}
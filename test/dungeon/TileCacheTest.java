@@ -0,0 +1,102 @@
+package dungeon;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the package private TileCache class.
+ */
+public class TileCacheTest {
+
+  private SpriteCache sprites;
+  private TileCache tiles;
+  private LocationNode location;
+
+  @Before
+  public void setUp() throws IOException {
+    sprites = new SpriteCache();
+    sprites.load("/blank.png");
+    sprites.load("/color-cells/NS.png");
+    sprites.load("/player.png", 30, 30);
+    tiles = new TileCache(sprites, 64, 3);
+    location = new LocationNode(2, 3);
+    location.setNextMove(Move.NORTH);
+    location.setNextMove(Move.SOUTH);
+  }
+
+  @Test
+  public void testUnexploredCode() {
+    location.setArrows(3);
+    assertEquals(0, TileCache.getCode(location, true, SmellLevel.MORE));
+  }
+
+  @Test
+  public void testCodeOfEveryPart() {
+    location.setExplored();
+    int empty = TileCache.getCode(location, false, SmellLevel.NONE);
+    int player = TileCache.getCode(location, true, SmellLevel.NONE);
+    int smell = TileCache.getCode(location, false, SmellLevel.LESS);
+    location.setArrows(1);
+    int arrows = TileCache.getCode(location, false, SmellLevel.NONE);
+    location.setTreasure(Treasure.RUBIES, 2);
+    int treasure = TileCache.getCode(location, false, SmellLevel.NONE);
+    location.setMonster();
+    int monster = TileCache.getCode(location, false, SmellLevel.LESS);
+    int[] codes = {0, empty, player, smell, arrows, treasure, monster};
+    for (int i = 0; i < codes.length; i++) {
+      for (int j = i + 1; j < codes.length; j++) {
+        assertNotEquals(codes[i], codes[j]);
+      }
+    }
+    assertEquals(monster, TileCache.getCode(location, false, SmellLevel.MORE));
+  }
+
+  @Test
+  public void testTileIsComposited() {
+    location.setExplored();
+    int code = TileCache.getCode(location, true, SmellLevel.NONE);
+    BufferedImage tile = tiles.getTile(code);
+    assertEquals(64, tile.getWidth());
+    assertEquals(64, tile.getHeight());
+    assertSame(tile, tiles.getTile(code));
+    assertEquals(sprites.get("/player.png", 30, 30).getRGB(15, 15), tile.getRGB(31, 31));
+    assertEquals(1, tiles.size());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedTileIsDropped() {
+    BufferedImage first = tiles.getTile(0);
+    tiles.getTile(1);
+    tiles.getTile(3);
+    tiles.getTile(0);
+    tiles.getTile(5);
+    assertEquals(3, tiles.size());
+    assertSame(first, tiles.getTile(0));
+    assertEquals(3, tiles.size());
+    BufferedImage second = tiles.getTile(1);
+    assertEquals(3, tiles.size());
+    assertSame(second, tiles.getTile(1));
+    tiles.getTile(5);
+    tiles.getTile(7);
+    tiles.getTile(9);
+    assertNotSame(first, tiles.getTile(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCapacity() {
+    new TileCache(sprites, 64, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullSprites() {
+    new TileCache(null, 64, 10);
+  }
+}
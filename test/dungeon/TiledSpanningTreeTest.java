@@ -0,0 +1,108 @@
+package dungeon;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import randomizer.Randomizer;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the package private TiledSpanningTree class.
+ */
+public class TiledSpanningTreeTest {
+
+  @Test
+  public void testUnwrappedSpanningTree() {
+    assertSpanningTree(23, 17, false, 5);
+  }
+
+  @Test
+  public void testWrappedSpanningTree() {
+    assertSpanningTree(20, 15, true, 5);
+  }
+
+  @Test
+  public void testSingleTile() {
+    assertSpanningTree(6, 5, true, 64);
+  }
+
+  @Test
+  public void testSameMazeForAnyParallelism() {
+    String expected = null;
+    for (int parallelism : new int[]{1, 2, 4, 7}) {
+      ForkJoinPool pool = new ForkJoinPool(parallelism);
+      try {
+        MazeGrid maze = new NodeMazeGrid(31, 26);
+        new TiledSpanningTree(maze, true, 4).build(seededRandomizer(42), pool);
+        String moves = describeMoves(maze);
+        if (expected == null) {
+          expected = moves;
+        }
+        assertEquals(expected, moves);
+      } finally {
+        pool.shutdown();
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidTileSize() {
+    new TiledSpanningTree(new NodeMazeGrid(5, 4), false, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPool() {
+    new TiledSpanningTree(new NodeMazeGrid(5, 4), false, 2).build(seededRandomizer(1), null);
+  }
+
+  private void assertSpanningTree(int rows, int columns, boolean wrapped, int tileSize) {
+    MazeGrid maze = new CompactMazeGrid(rows, columns);
+    ForkJoinPool pool = new ForkJoinPool(3);
+    EdgePool skipped;
+    try {
+      skipped = new TiledSpanningTree(maze, wrapped, tileSize).build(seededRandomizer(7), pool);
+    } finally {
+      pool.shutdown();
+    }
+    int totalEdges = wrapped ? 2 * rows * columns
+            : (rows - 1) * columns + rows * (columns - 1);
+    int connections = 0;
+    DisjointSet components = new DisjointSet(rows * columns);
+    for (int x = 0; x < rows; x++) {
+      for (int y = 0; y < columns; y++) {
+        for (Move move : maze.getLocation(x, y).getNextMoves()) {
+          connections++;
+          if (move == Move.EAST) {
+            components.union(x * columns + y, x * columns + (y + 1) % columns);
+          } else if (move == Move.SOUTH) {
+            components.union(x * columns + y, ((x + 1) % rows) * columns + y);
+          }
+        }
+      }
+    }
+    assertEquals(2 * (rows * columns - 1), connections);
+    assertEquals(totalEdges - (rows * columns - 1), skipped.remaining());
+    for (int cell = 0; cell < rows * columns; cell++) {
+      assertEquals(components.find(0), components.find(cell));
+    }
+  }
+
+  private String describeMoves(MazeGrid maze) {
+    StringBuilder builder = new StringBuilder();
+    for (int x = 0; x < maze.getRows(); x++) {
+      for (int y = 0; y < maze.getColumns(); y++) {
+        builder.append(maze.getLocation(x, y).getNextMoves()).append(';');
+      }
+      builder.append('\n');
+    }
+    return builder.toString();
+  }
+
+  private Randomizer seededRandomizer(long seed) {
+    Random random = new Random(seed);
+    return (minBound, maxBound) -> random.nextInt(maxBound + 1 - minBound) + minBound;
+  }
+}